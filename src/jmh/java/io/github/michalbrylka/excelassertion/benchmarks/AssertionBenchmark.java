@@ -0,0 +1,107 @@
+package io.github.michalbrylka.excelassertion.benchmarks;
+
+import io.github.michalbrylka.excelassertion.assertions.cell.*;
+import io.github.michalbrylka.excelassertion.io.*;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.data.Offset;
+import org.assertj.core.data.Percentage;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static io.github.michalbrylka.excelassertion.assertions.ExcelAssertionBuilder.*;
+
+/**
+ * Per-cell cost of {@link CellAssertion#applyAssert(Cell, EvaluationContext, SoftAssertions)} on passing and failing path.
+ * Run with {@code -prof gc} to get allocation rate per operation. {@link #newSoftAssertions()} is the baseline to subtract.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssertionBenchmark {
+    private static final String SHEET_NAME = "Data";
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 2, 29, 13, 45);
+
+    public enum Case {
+        NUMBER_EQUAL_TO("A1", passing -> cellAt("A1").withNumber(equalTo(passing ? 42.5 : 41))),
+        NUMBER_GREATER_THAN("A1", passing -> cellAt("A1").withNumber(greaterThan(passing ? 40 : 50))),
+        NUMBER_GREATER_THAN_OR_EQUAL_TO("A1", passing -> cellAt("A1").withNumber(greaterThanOrEqualTo(passing ? 42.5 : 50))),
+        NUMBER_LESS_THAN("A1", passing -> cellAt("A1").withNumber(lessThan(passing ? 50 : 40))),
+        NUMBER_LESS_THAN_OR_EQUAL_TO("A1", passing -> cellAt("A1").withNumber(lessThanOrEqualTo(passing ? 42.5 : 40))),
+        NUMBER_CLOSE_TO_OFFSET("A1", passing -> cellAt("A1").withNumber(closeTo(passing ? 42.4 : 42, Offset.offset(0.2)))),
+        NUMBER_CLOSE_TO_PERCENT("A1", passing -> cellAt("A1").withNumber(closeTo(passing ? 42 : 40, Percentage.withPercentage(5)))),
+        NUMBER_WITHIN_RANGE("A1", passing -> cellAt("A1").withNumber(withinRange(passing ? 40 : 43, 45))),
+        NUMBER_OUTSIDE_RANGE("A1", passing -> cellAt("A1").withNumber(outsideRange(passing ? 43 : 40, 45))),
+        TEXT_EQUALS("A2", passing -> cellAt("A2").withText(passing ? "Quarterly Report\nQ1 2024" : "Quarterly Report\nQ2 2024")),
+        TEXT_EQUALS_IGNORING_NEW_LINES("A2", passing -> cellAt("A2").withText(equalTo(passing ? "quarterly report q1 2024" : "quarterly report q2 2024").ignoreCase().ignoreNewLines())),
+        TEXT_CONTAINS("A2", passing -> cellAt("A2").withText(containing(passing ? "report" : "summary").ignoreCase())),
+        TEXT_PATTERN("A2", passing -> cellAt("A2").withText(matching(passing ? "Quarterly.*Q\\d \\d{4}" : "Quarterly.*Q\\d \\d{2}").dotallMode())),
+        DATE_TIME("A3", passing -> new DateTimeCellAssertion("A3").isAfter(passing ? DATE.minusDays(1) : DATE.plusDays(1)).hasYear(2024)),
+        FORMAT("A1", passing -> cellAt("A1").exists().withFormat(passing ? "0.00" : "0.000")),
+        FORMAT_CATEGORY("A3", passing -> cellAt("A3").exists().withFormatCategory(passing ? FormatCategory.DATE : FormatCategory.TIME)),
+        COMMENT("A1", passing -> cellAt("A1").exists().withComment(passing ? "Reviewed" : "Pending"));
+
+        private final String cellAddress;
+        private final Function<Boolean, CellAssertion<?>> factory;
+
+        Case(String cellAddress, Function<Boolean, CellAssertion<?>> factory) {
+            this.cellAddress = cellAddress;
+            this.factory = factory;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CellState {
+        @Param
+        public Case assertionCase;
+
+        @Param({"true", "false"})
+        public boolean passing;
+
+        private XSSFWorkbook workbook;
+        private EvaluationContext context;
+        private CellAssertion<?> assertion;
+        private Cell cell;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            workbook = new XSSFWorkbook();
+            ExcelOperations.fillWorkbook(workbook, List.of(new SheetEntry(SHEET_NAME, List.of(
+                    new NumberCellEntry("A1", 42.5, "0.00", "Reviewed"),
+                    new TextCellEntry("A2", "Quarterly Report\nQ1 2024"),
+                    new DateCellEntry("A3", DATE, "yyyy-mm-dd hh:mm")
+            ))));
+            context = new EvaluationContext(workbook);
+
+            var ref = new CellReference(assertionCase.cellAddress);
+            cell = workbook.getSheet(SHEET_NAME).getRow(ref.getRow()).getCell(ref.getCol());
+            assertion = assertionCase.factory.apply(passing).withSheetName(SHEET_NAME);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            workbook.close();
+        }
+    }
+
+    @Benchmark
+    public SoftAssertions applyAssert(CellState state) {
+        var softly = new SoftAssertions();
+        state.assertion.applyAssert(state.cell, state.context, softly);
+        return softly;
+    }
+
+    @Benchmark
+    public SoftAssertions newSoftAssertions() {
+        return new SoftAssertions();
+    }
+}
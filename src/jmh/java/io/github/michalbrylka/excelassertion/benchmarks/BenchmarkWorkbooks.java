@@ -0,0 +1,68 @@
+package io.github.michalbrylka.excelassertion.benchmarks;
+
+import io.github.michalbrylka.excelassertion.io.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Generates workbooks with mixed cell types for benchmarks. Cells fill {@value #COLUMNS} columns row by row.
+ */
+final class BenchmarkWorkbooks {
+    static final int COLUMNS = 10;
+    static final String SHEET_NAME = "Data";
+
+    private static final LocalDateTime START_DATE = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private BenchmarkWorkbooks() {}
+
+    /**
+     * Every row holds text, numbers, boolean, formulas, date and error cells.
+     * Formats are set on every 100th row only and comments on every 1000th - each formatted cell gets own style in {@link ExcelOperations#fillWorkbook}
+     */
+    static List<SheetEntry> generate(int cellCount) {
+        int rows = Math.max(1, cellCount / COLUMNS);
+        List<CellEntry<?>> cells = new ArrayList<>(rows * COLUMNS);
+
+        for (int r = 1; r <= rows; r++) {
+            boolean formatted = r % 100 == 0;
+            String comment = r % 1000 == 0 ? "Comment " + r : null;
+
+            cells.add(new TextCellEntry("A" + r, "Item " + r));
+            cells.add(new NumberCellEntry("B" + r, r * 1.5));
+            cells.add(new NumberCellEntry("C" + r, r / 7.0, formatted ? "0.00" : null));
+            cells.add(new BooleanCellEntry("D" + r, r % 2 == 0));
+            cells.add(FormulaCellEntry.ofNoValue("E" + r, "B%d*2".formatted(r)));
+            cells.add(FormulaCellEntry.ofNoValue("F" + r, "A%d&\"-x\"".formatted(r)));
+            cells.add(formatted
+                    ? new DateCellEntry("G" + r, START_DATE.plusDays(r), "yyyy-mm-dd")
+                    : new NumberCellEntry("G" + r, (double) r));
+            cells.add(new TextCellEntry("H" + r, "Line1\nLine" + r, null, comment));
+            cells.add(r % 50 == 0 ? new ErrorCellEntry("I" + r, "#N/A") : new NumberCellEntry("I" + r, -r / 3.0));
+            cells.add(new NumberCellEntry("J" + r, r * 1e-3, formatted ? "0.000%" : null));
+        }
+
+        return List.of(new SheetEntry(SHEET_NAME, cells));
+    }
+
+    /**
+     * Writes entries through streaming workbook, so that even the largest data sets do not need whole workbook in memory
+     */
+    static File write(List<SheetEntry> sheetEntries) throws IOException {
+        File file = Files.createTempFile("Benchmark-", ".xlsx").toFile();
+        file.deleteOnExit();
+
+        var workbook = new SXSSFWorkbook(1000);
+        try (var out = new FileOutputStream(file)) {
+            ExcelOperations.fillWorkbook(workbook, sheetEntries);
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+        return file;
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.michalbrylka.excelassertion.benchmarks;
+
+import io.github.michalbrylka.excelassertion.assertions.number.*;
+import org.assertj.core.data.Offset;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-value {@link NumberAssertion#test} against bulk {@link NumberAssertion#testAll} over one chunk of numbers gathered by range assertion.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NumberColumnBenchmark {
+    @Param({"GreaterThan", "WithinRange", "CloseToOffset", "OutsideRange"})
+    public String assertionType;
+
+    @Param({"4096"}) // CellRangeAssertion.CHUNK_SIZE
+    public int length;
+
+    private NumberAssertion assertion;
+    private double[] values;
+    private boolean[] failed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        assertion = switch (assertionType) {
+            case "GreaterThan" -> new GreaterThanNumberAssertion(-1);
+            case "WithinRange" -> new WithinRangeNumberAssertion(-1, 2);
+            case "CloseToOffset" -> new CloseToOffsetNumberAssertion(0.5, Offset.offset(1.0));
+            case "OutsideRange" -> new OutsideRangeNumberAssertion(5, 6);
+            default -> throw new IllegalArgumentException(assertionType);
+        };
+        values = new Random(42).doubles(length).toArray();
+        failed = new boolean[length];
+    }
+
+    @Benchmark
+    public int testEach() {
+        int failedCount = 0;
+        for (int i = 0; i < length; i++)
+            if (!assertion.test(values[i])) failedCount++;
+        return failedCount;
+    }
+
+    @Benchmark
+    public int testAll() {return assertion.testAll(values, length, failed);}
+}
@@ -0,0 +1,105 @@
+package io.github.michalbrylka.excelassertion.benchmarks;
+
+import io.github.michalbrylka.excelassertion.assertions.ExcelAssert;
+import io.github.michalbrylka.excelassertion.io.*;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.michalbrylka.excelassertion.assertions.ExcelAssertionBuilder.*;
+
+/**
+ * Cost of opening, reading and filling whole workbooks of growing size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class WorkbookBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int cellCount;
+
+    private List<SheetEntry> sheetEntries;
+    private File file;
+    private byte[] bytes;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        sheetEntries = BenchmarkWorkbooks.generate(cellCount);
+        file = BenchmarkWorkbooks.write(sheetEntries);
+        bytes = Files.readAllBytes(file.toPath());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Benchmark
+    public ExcelAssert assertThatExcelFile() {
+        ExcelAssert excelAssert = assertThatExcel(file);
+        excelAssert.close();
+        return excelAssert;
+    }
+
+    @Benchmark
+    public ExcelAssert assertThatExcelBytes() {
+        ExcelAssert excelAssert = assertThatExcel(bytes);
+        excelAssert.close();
+        return excelAssert;
+    }
+
+    /**
+     * Column B holds positive numbers in every row
+     */
+    @Benchmark
+    public ExcelAssert assertColumnWithCellAssertions() {
+        ExcelAssert excelAssert = assertThatExcel(file);
+        int rows = cellCount / BenchmarkWorkbooks.COLUMNS;
+        for (int r = 0; r < rows; r++)
+            excelAssert.has(cellAt(r, 1).withNumber(greaterThan(0)));
+        excelAssert.close();
+        return excelAssert;
+    }
+
+    @Benchmark
+    public ExcelAssert assertColumnWithRangeAssertion() {
+        ExcelAssert excelAssert = assertThatExcel(file)
+                .has(cellsIn("B1:B" + cellCount / BenchmarkWorkbooks.COLUMNS).withNumber(greaterThan(0)));
+        excelAssert.close();
+        return excelAssert;
+    }
+
+    @Benchmark
+    public List<SheetEntry> readWorkbook() throws IOException {
+        try (var workbook = WorkbookFactory.create(file, null, true)) {
+            return ExcelOperations.readWorkbook(workbook);
+        }
+    }
+
+    @Benchmark
+    public void readWorkbookStreaming(Blackhole blackhole) throws IOException {
+        ExcelOperations.readWorkbook(file, new CellEntryHandler() {
+            @Override
+            public void cell(@NotNull CellEntry<?> cellEntry) {blackhole.consume(cellEntry);}
+        });
+    }
+
+    @Benchmark
+    public XSSFWorkbook fillWorkbook() throws IOException {
+        try (var workbook = new XSSFWorkbook()) {
+            ExcelOperations.fillWorkbook(workbook, sheetEntries);
+            return workbook;
+        }
+    }
+}
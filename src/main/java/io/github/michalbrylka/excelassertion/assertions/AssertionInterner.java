@@ -0,0 +1,42 @@
+package io.github.michalbrylka.excelassertion.assertions;
+
+import io.github.michalbrylka.excelassertion.assertions.number.NumberAssertion;
+import io.github.michalbrylka.excelassertion.assertions.text.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pool of assertions compiled from spec cells - cells with identical expectation share single assertion instance.
+ * Number assertions are records and are pooled by value, text assertions are pooled by their constructor arguments and frozen.
+ * Not thread safe, meant to live as long as reading of single spec.
+ */
+final class AssertionInterner {
+    private enum TextOperation {EQUALS, CONTAINS, PATTERN}
+
+    private record TextKey(TextOperation operation, String text, boolean ignoreCase, boolean option) {}
+
+    private final Map<NumberAssertion, NumberAssertion> numberAssertions = new HashMap<>();
+    private final Map<TextKey, TextAssertion<?>> textAssertions = new HashMap<>();
+
+    @NotNull NumberAssertion number(@NotNull NumberAssertion assertion) {
+        var pooled = numberAssertions.putIfAbsent(assertion, assertion);
+        return pooled != null ? pooled : assertion;
+    }
+
+    @NotNull TextAssertion<?> equalsText(@NotNull String expected, boolean ignoreCase, boolean ignoreNewLines) {
+        return textAssertions.computeIfAbsent(new TextKey(TextOperation.EQUALS, expected, ignoreCase, ignoreNewLines),
+                key -> new EqualsTextAssertion(key.text(), key.ignoreCase(), key.option()).freeze());
+    }
+
+    @NotNull TextAssertion<?> containsText(@NotNull String expectedSubstring, boolean ignoreCase) {
+        return textAssertions.computeIfAbsent(new TextKey(TextOperation.CONTAINS, expectedSubstring, ignoreCase, false),
+                key -> new ContainsTextAssertion(key.text(), key.ignoreCase()).freeze());
+    }
+
+    @NotNull TextAssertion<?> patternText(@NotNull String pattern, boolean ignoreCase, boolean dotallMode) {
+        return textAssertions.computeIfAbsent(new TextKey(TextOperation.PATTERN, pattern, ignoreCase, dotallMode),
+                key -> new PatternTextAssertion(key.text(), key.ignoreCase(), key.option()).freeze());
+    }
+}
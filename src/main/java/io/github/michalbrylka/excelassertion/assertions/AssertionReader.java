@@ -4,111 +4,238 @@ import io.github.michalbrylka.excelassertion.io.*;
 import io.github.michalbrylka.excelassertion.assertions.cell.*;
 import io.github.michalbrylka.excelassertion.assertions.text.*;
 import io.github.michalbrylka.excelassertion.assertions.number.*;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.apache.poi.ss.usermodel.Workbook;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.regex.Pattern;
 
 public class AssertionReader {
+    private static final ObjectMapper PLAN_MAPPER = new ObjectMapper();
+    /**
+     * Part of plan file name, has to be changed whenever compilation of spec cells or plan format changes
+     */
+    private static final String PLAN_VERSION = "v3";
+
     private final ExcelAssert excelAssert;
+    private Path planCacheDirectory;
 
     public AssertionReader(ExcelAssert excelAssert) {
         this.excelAssert = excelAssert;
     }
 
+    /**
+     * Stores compiled assertions of each spec file in given directory, keyed by hash of spec file content.
+     * Spec file with already cached plan is not parsed again, assertions are read from the plan.
+     * <p>
+     * Only {@link #readFrom(File)} uses the cache, and a plan always holds assertions of all spec sheets - the key
+     * has no sheet selection in it. Any read of a part of the spec, or of an already opened spec workbook, parses the spec.
+     */
+    public AssertionReader withPlanCache(@NotNull Path planCacheDirectory) {
+        this.planCacheDirectory = planCacheDirectory;
+        return this;
+    }
+
+    /**
+     * Spec workbook is streamed - each cell is compiled to assertion and passed to {@link ExcelAssert} as soon as it is read
+     */
     @lombok.SneakyThrows
     public void readFrom(File assertionFile) {
-        try (var fis = new FileInputStream(assertionFile);
-             var workbook = WorkbookFactory.create(fis)
-        ) {
-            List<SheetEntry> sheetEntries = ExcelOperations.readWorkbook(workbook);
-
-            for (var sheetEntry : sheetEntries) {
-                var sheetName = sheetEntry.name();
-                var matcher = numberRefSheetPattern.matcher(sheetName);
-
-                if (matcher.find())
-                    excelAssert.inSheet(Integer.parseInt(matcher.group("number")));
-                else
-                    excelAssert.inSheet(sheetName);
-
-                for (var cellEntry : sheetEntry.cells()) {
-                    Set<String> tagSet = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
-                    if (cellEntry.comment() instanceof String comment)
-                        Arrays.stream(comment.split(","))
-                                .map(String::trim)
-                                .filter(item -> !item.isEmpty()) // Filter out empty strings that might result from trimming or multiple commas
-                                .map(String::toLowerCase)
-                                .forEach(tagSet::add);
-
-                    CellAssertion<?> cellAssertion = switch (cellEntry) {
-                        case TextCellEntry stringEntry ->
-                                new TextCellAssertion(cellEntry.address(), createTextAssertionForText(stringEntry.value(), tagSet));
-                        case NumberCellEntry numericEntry ->
-                                new NumberCellAssertion(cellEntry.address(), createTextAssertionForNumber(numericEntry.value(), tagSet));
-                        case BooleanCellEntry booleanEntry ->
-                                new BooleanCellAssertion(cellEntry.address(), booleanEntry.value());
-                        case DateCellEntry ignored ->
-                                throw new IllegalStateException("Date assertions are not supported yet");
-                        case ErrorCellEntry errorEntry ->
-                                new ErrorTextCellAssertion(cellEntry.address(), new EqualsTextAssertion(errorEntry.value(), true, true));
-                        case FormulaCellEntry<?> formulaEntry ->
-                                new FormulaTextCellAssertion(cellEntry.address(), new EqualsTextAssertion(formulaEntry.formula(), true, true));
-                        case NoValueCellEntry ignored ->
-                                tagSet.contains("empty") ? new EmptyCellAssertion(cellEntry.address()) : new SimpleCellAssertion(cellEntry.address());
-                    };
-
-                    var expectedFormat = cellEntry.format() instanceof String format &&
-                                         !Objects.equals(format, "General") &&
-                                         !Objects.equals(format, "@")
-                            ? createTextAssertionForFormat(format, tagSet)
-                            : null;
-                    if (expectedFormat != null)
-                        cellAssertion.withFormat(expectedFormat);
-
-                    excelAssert.has(cellAssertion);
+        if (planCacheDirectory == null) {
+            readSpec(assertionFile, null);
+            return;
+        }
+
+        Path planFile = planCacheDirectory.resolve("plan-%s-%s.jsonl".formatted(PLAN_VERSION, contentHash(assertionFile)));
+        if (Files.isRegularFile(planFile)) {
+            readPlan(planFile.toFile());
+            return;
+        }
+
+        Files.createDirectories(planCacheDirectory);
+        Path partialPlanFile = Files.createTempFile(planCacheDirectory, "plan-", ".tmp");
+        try {
+            try (var plan = PLAN_MAPPER.writer().withRootValueSeparator("\n").writeValues(Files.newOutputStream(partialPlanFile))) {
+                readSpec(assertionFile, plan);
+            }
+            Files.move(partialPlanFile, planFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partialPlanFile);
+        }
+    }
+
+    /**
+     * Reads assertion plan in JSON Lines format - one cell assertion per line, i.e.
+     * <pre>{@code
+     * {"sheet":"Numbers","at":"A1","number":{"gt":1.0},"format":{"eq":"0.00"}}
+     * {"sheet":"#2","at":"B1","text":{"eq":"Total","ignoreCase":true},"comment":{"has":"sum"},"formatCategory":"TEXT"}
+     * {"at":"B2","empty":true}
+     * }</pre>
+     * Sheet is given by name or as {@code #index}, same as in spec workbook. Line without sheet refers to the last selected one.
+     * Plan is streamed, each assertion is passed to {@link ExcelAssert} as soon as its line is parsed.
+     */
+    @lombok.SneakyThrows
+    public void readPlanFrom(File planFile) {readPlan(planFile);}
+
+    /**
+     * Reads spec from already opened workbook, cell by cell same as streamed {@link #readFrom(File)}
+     */
+    void readFrom(Workbook assertionWorkbook) {ExcelOperations.readWorkbook(assertionWorkbook, specHandler(null));}
+
+    private void readSpec(File assertionFile, @Nullable SequenceWriter plan) throws IOException {
+        ExcelOperations.readWorkbook(assertionFile, specHandler(plan));
+    }
+
+    /**
+     * @param plan when given, compiled assertions bound to spec sheet name are also written to it
+     */
+    private CellEntryHandler specHandler(@Nullable SequenceWriter plan) {
+        var interner = new AssertionInterner();
+        return new CellEntryHandler() {
+            private String sheetName;
+
+            @Override
+            public boolean startSheet(@NotNull String sheetName, int sheetIndex) {
+                this.sheetName = sheetName;
+                selectSheet(sheetName);
+                return true;
+            }
+
+            @Override
+            public void cell(@NotNull CellEntry<?> cellEntry) {
+                var cellAssertion = toCellAssertion(cellEntry, interner);
+                if (plan != null)
+                    try {
+                        plan.write(cellAssertion.withSheetName(sheetName));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                excelAssert.has(cellAssertion);
+            }
+        };
+    }
+
+    private void readPlan(File planFile) throws IOException {
+        try (var parser = PLAN_MAPPER.createParser(planFile);
+             MappingIterator<CellAssertion<?>> cellAssertions = PLAN_MAPPER.readValues(parser, new TypeReference<>() {})) {
+            String sheetName = null;
+            while (cellAssertions.hasNextValue()) {
+                var cellAssertion = cellAssertions.nextValue();
+                if (cellAssertion.getSheetName() instanceof String planSheetName && !planSheetName.equals(sheetName)) {
+                    sheetName = planSheetName;
+                    selectSheet(sheetName);
                 }
+                excelAssert.has(cellAssertion);
             }
         }
     }
 
-    private static @NotNull NumberAssertion createTextAssertionForNumber(@NotNull Double expectedValue, Set<String> tagSet) {
+    private static String contentHash(File file) throws IOException {
+        try (var input = new DigestInputStream(new FileInputStream(file), MessageDigest.getInstance("SHA-256"))) {
+            input.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(input.getMessageDigest().digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void selectSheet(String sheetName) {
+        var matcher = numberRefSheetPattern.matcher(sheetName);
+
+        if (matcher.find())
+            excelAssert.inSheet(Integer.parseInt(matcher.group("number")));
+        else
+            excelAssert.inSheet(sheetName);
+    }
+
+    /**
+     * @param interner pool shared by all cells of spec, so that cells with identical expectations share assertion instances
+     */
+    private static CellAssertion<?> toCellAssertion(CellEntry<?> cellEntry, AssertionInterner interner) {
+        Set<String> tagSet = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        if (cellEntry.comment() instanceof String comment)
+            Arrays.stream(comment.split(","))
+                    .map(String::trim)
+                    .filter(item -> !item.isEmpty()) // Filter out empty strings that might result from trimming or multiple commas
+                    .map(String::toLowerCase)
+                    .forEach(tagSet::add);
+
+        CellAssertion<?> cellAssertion = switch (cellEntry) {
+            case TextCellEntry stringEntry ->
+                    new TextCellAssertion(cellEntry.address(), createTextAssertionForText(stringEntry.value(), tagSet, interner));
+            case NumberCellEntry numericEntry ->
+                    new NumberCellAssertion(cellEntry.address(), createTextAssertionForNumber(numericEntry.doubleValue(), tagSet, interner));
+            case PrimitiveNumberCellEntry numericEntry ->
+                    new NumberCellAssertion(cellEntry.address(), createTextAssertionForNumber(numericEntry.doubleValue(), tagSet, interner));
+            case BooleanCellEntry booleanEntry ->
+                    new BooleanCellAssertion(cellEntry.address(), booleanEntry.value());
+            case DateCellEntry ignored ->
+                    throw new IllegalStateException("Date assertions are not supported yet");
+            case ErrorCellEntry errorEntry ->
+                    new ErrorTextCellAssertion(cellEntry.address(), interner.equalsText(errorEntry.value(), true, true));
+            case FormulaCellEntry<?> formulaEntry ->
+                    new FormulaTextCellAssertion(cellEntry.address(), interner.equalsText(formulaEntry.formula(), true, true));
+            case NoValueCellEntry ignored ->
+                    tagSet.contains("empty") ? new EmptyCellAssertion(cellEntry.address()) : new SimpleCellAssertion(cellEntry.address());
+        };
+
+        var expectedFormat = cellEntry.format() instanceof String format &&
+                             !Objects.equals(format, "General") &&
+                             !Objects.equals(format, "@")
+                ? createTextAssertionForFormat(format, tagSet, interner)
+                : null;
+        if (expectedFormat != null)
+            cellAssertion.withFormat(expectedFormat);
+        return cellAssertion;
+    }
+
+    private static @NotNull NumberAssertion createTextAssertionForNumber(double expectedValue, Set<String> tagSet, AssertionInterner interner) {
         if (tagSet.contains("="))
-            return new EqualToNumberAssertion(expectedValue);
+            return interner.number(new EqualToNumberAssertion(expectedValue));
         else if (tagSet.contains(">"))
-            return new GreaterThanNumberAssertion(expectedValue);
+            return interner.number(new GreaterThanNumberAssertion(expectedValue));
         else if (tagSet.contains(">="))
-            return new GreaterThanOrEqualToNumberAssertion(expectedValue);
+            return interner.number(new GreaterThanOrEqualToNumberAssertion(expectedValue));
         else if (tagSet.contains("<"))
-            return new LessThanNumberAssertion(expectedValue);
+            return interner.number(new LessThanNumberAssertion(expectedValue));
         else if (tagSet.contains("<="))
-            return new LessThanOrEqualToNumberAssertion(expectedValue);
+            return interner.number(new LessThanOrEqualToNumberAssertion(expectedValue));
         else
-            return new EqualToNumberAssertion(expectedValue);
+            return interner.number(new EqualToNumberAssertion(expectedValue));
     }
 
-    private static TextAssertion<?> createTextAssertionForText(@NotNull String value, Set<String> tagSet) {
+    private static TextAssertion<?> createTextAssertionForText(@NotNull String value, Set<String> tagSet, AssertionInterner interner) {
         if (tagSet.contains("equalTo"))
-            return new EqualsTextAssertion(value, true, true);
+            return interner.equalsText(value, true, true);
         else if (tagSet.contains("containing"))
-            return new ContainsTextAssertion(value, true);
+            return interner.containsText(value, true);
         else if (tagSet.contains("matching"))
-            return new PatternTextAssertion(value, true, true);
+            return interner.patternText(value, true, true);
         else
-            return new EqualsTextAssertion(value, true, true);
+            return interner.equalsText(value, true, true);
     }
 
-    private static TextAssertion<?> createTextAssertionForFormat(@NotNull String format, @NotNull Set<String> tagSet) {
+    private static TextAssertion<?> createTextAssertionForFormat(@NotNull String format, @NotNull Set<String> tagSet, AssertionInterner interner) {
         if (tagSet.contains("format-equalTo"))
-            return new EqualsTextAssertion(format, true, true);
+            return interner.equalsText(format, true, true);
         else if (tagSet.contains("format-containing"))
-            return new ContainsTextAssertion(format, true);
+            return interner.containsText(format, true);
         else if (tagSet.contains("format-matching"))
-            return new PatternTextAssertion(format, true, true);
+            return interner.patternText(format, true, true);
         else
-            return new EqualsTextAssertion(format, true, true);
+            return interner.equalsText(format, true, true);
     }
 
     private static final Pattern numberRefSheetPattern = Pattern.compile("^#(?<number>\\d+)$");
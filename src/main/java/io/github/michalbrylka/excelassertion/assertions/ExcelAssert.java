@@ -1,57 +1,111 @@
 package io.github.michalbrylka.excelassertion.assertions;
 
+import io.github.michalbrylka.excelassertion.io.CellEntry;
+import io.github.michalbrylka.excelassertion.io.CellEntryHandler;
+import io.github.michalbrylka.excelassertion.io.NoValueCellEntry;
+import io.github.michalbrylka.excelassertion.io.StreamingSheetComments;
+import io.github.michalbrylka.excelassertion.io.StreamingWorkbookReader;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.util.CellReference;
 import org.assertj.core.api.Assertions;
 import org.assertj.core.api.SoftAssertions;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import io.github.michalbrylka.excelassertion.assertions.cell.CellAssertion;
+import io.github.michalbrylka.excelassertion.assertions.cell.CellRangeAssertion;
+import io.github.michalbrylka.excelassertion.assertions.cell.EvaluationContext;
+import io.github.michalbrylka.excelassertion.assertions.cell.EvaluationPolicy;
 
 import java.io.*;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.*;
 
 public final class ExcelAssert implements AutoCloseable {
     private final Workbook workbook;
+    private final EvaluationContext context;
+    private final StreamingWorkbookReader deferredReader;
+    private final Map<Integer, DeferredSheetAssertions> deferredAssertions = new TreeMap<>();
     private final SoftAssertions softly;
     private final List<CellAssertionAtSheet> assertions = new ArrayList<>();
+    private final List<CellRangeAssertionAtSheet> rangeAssertions = new ArrayList<>();
     private Sheet sheet;
+    private int sheetIndex;
+    private String sheetName;
     private SheetRef<?> sheetRef;
+    private boolean parallel;
 
     ExcelAssert(Workbook workbook) {
         this.softly = new SoftAssertions();
         this.workbook = workbook;
+        this.context = new EvaluationContext(workbook);
+        this.deferredReader = null;
+        selectSheetByIndex(0);
+    }
+
+    /**
+     * Creates assertion in deferred mode: assertions are only recorded and evaluated on {@link #close()},
+     * with a single streaming pass over each referenced sheet. Formula cells are asserted on their cached results.
+     */
+    ExcelAssert(StreamingWorkbookReader deferredReader) {
+        this.softly = new SoftAssertions();
+        this.workbook = null;
+        this.context = null;
+        this.deferredReader = deferredReader;
         selectSheetByIndex(0);
     }
 
     List<CellAssertionAtSheet> getAssertions() {return Collections.unmodifiableList(assertions);}
 
+    List<CellRangeAssertionAtSheet> getRangeAssertions() {return Collections.unmodifiableList(rangeAssertions);}
+
+    private boolean isDeferred() {return deferredReader != null;}
+
+    private int getNumberOfSheets() {
+        return isDeferred() ? deferredReader.getSheetNames().size() : workbook.getNumberOfSheets();
+    }
+
     private void selectSheetByIndex(int index) {
-        if (index < workbook.getNumberOfSheets()) {
-            sheet = workbook.getSheetAt(index);
+        if (index < getNumberOfSheets()) {
+            selectSheet(index);
             sheetRef = new SheetRefByIndex(index);
         } else {
             softly.fail("Cannot find sheet with index %d".formatted(index));
-            sheet = null;
-            sheetRef = null;
+            clearSheet();
         }
     }
 
     private void selectSheetByName(String sheetName) {
-        if (workbook.getSheet(sheetName) instanceof Sheet existingSheet) {
-            sheet = existingSheet;
+        int index = isDeferred() ? findDeferredSheetIndex(sheetName) : workbook.getSheetIndex(sheetName);
+        if (index >= 0) {
+            selectSheet(index);
             sheetRef = new SheetRefByName(sheetName);
         } else {
             softly.fail("Cannot find sheet with name '%s'".formatted(sheetName));
+            clearSheet();
+        }
+    }
+
+    private int findDeferredSheetIndex(String sheetName) {return indexOfIgnoreCase(deferredReader.getSheetNames(), sheetName);}
+
+    private void selectSheet(int index) {
+        sheetIndex = index;
+        if (isDeferred()) {
             sheet = null;
-            sheetRef = null;
+            sheetName = deferredReader.getSheetNames().get(index);
+        } else {
+            sheet = workbook.getSheetAt(index);
+            sheetName = sheet.getSheetName();
         }
     }
 
+    private void clearSheet() {
+        sheet = null;
+        sheetName = null;
+        sheetRef = null;
+    }
+
     public ExcelAssert inSheet(int index) {
         selectSheetByIndex(index);
         return this;
@@ -62,6 +116,42 @@ public final class ExcelAssert implements AutoCloseable {
         return this;
     }
 
+    /**
+     * Evaluates all formulas of the workbook up front, so assertions added afterward only read evaluator cache.
+     * Formulas are evaluated whatever the evaluation policy is, it may be changed afterward.
+     * Has no effect in deferred mode, where cached formula results are used.
+     */
+    public ExcelAssert evaluateAll() {
+        if (!isDeferred())
+            context.evaluateAll();
+        return this;
+    }
+
+    /**
+     * Sets how formula cells are evaluated for assertions added afterward. Default is {@link EvaluationPolicy#RECALCULATE}.
+     * Deferred mode supports {@link EvaluationPolicy#CACHED} only.
+     */
+    public ExcelAssert withEvaluationPolicy(@NotNull EvaluationPolicy evaluationPolicy) {
+        if (isDeferred()) {
+            if (evaluationPolicy != EvaluationPolicy.CACHED)
+                throw new IllegalStateException("Deferred mode always uses cached formula results, cannot use " + evaluationPolicy);
+        } else
+            context.setEvaluationPolicy(evaluationPolicy);
+        return this;
+    }
+
+    /**
+     * Evaluates recorded assertions of each sheet on its own virtual thread on {@link #close()}.
+     * Every sheet collects failures separately, they are merged in sheet order - reported failures are the same as in sequential evaluation.
+     * Requires deferred mode.
+     */
+    public ExcelAssert inParallel() {
+        if (!isDeferred())
+            throw new IllegalStateException("Parallel evaluation requires deferred mode, assertions are otherwise evaluated as they are added");
+        parallel = true;
+        return this;
+    }
+
     public ExcelAssert has(CellAssertion<?> cellAssertion) {
         addAssert(cellAssertion);
         return this;
@@ -72,28 +162,206 @@ public final class ExcelAssert implements AutoCloseable {
         return this;
     }
 
+    /**
+     * Checks every cell of the range with one shared assertion, failing cells are reported together in a single failure
+     */
+    public ExcelAssert has(CellRangeAssertion rangeAssertion) {
+        if (sheetName == null || sheetRef == null)
+            return this; //assertion about not existing sheet already exist
+
+        rangeAssertion.withSheetName(sheetName);
+        if (isDeferred())
+            getDeferredSheetAssertions().rangeAssertions().add(rangeAssertion);
+        else
+            rangeAssertion.applyAssert(sheet, context, softly);
+        rangeAssertions.add(new CellRangeAssertionAtSheet(rangeAssertion, sheetRef));
+        return this;
+    }
+
+    public ExcelAssert matchesGolden(@NotNull File expectedFile) {return matchesGolden(expectedFile, GoldenTolerances.exact());}
+
+    /**
+     * Compares all sheets cell by cell with golden workbook, read with streaming reader. Sheets are matched by name.
+     * Comparison is done immediately, also in deferred mode.
+     */
+    public ExcelAssert matchesGolden(@NotNull File expectedFile, @NotNull GoldenTolerances tolerances) {
+        try (var golden = StreamingWorkbookReader.open(expectedFile)) {
+            var comparison = new GoldenWorkbookComparison(golden, tolerances, softly);
+            if (isDeferred())
+                comparison.compareWith(deferredReader.getSheetNames(), index -> SheetCursor.of(deferredReader, index), deferredReader.isDate1904());
+            else {
+                List<String> sheetNames = new ArrayList<>(workbook.getNumberOfSheets());
+                for (Sheet actualSheet : workbook) sheetNames.add(actualSheet.getSheetName());
+                comparison.compareWith(sheetNames, index -> SheetCursor.of(workbook.getSheetAt(index)), context.isDate1904());
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new AssertionError("Failed to read golden Excel file: <" + expectedFile.getName() + ">. Reason: " + e.getMessage(), e);
+        }
+        return this;
+    }
+
+    /**
+     * Matches rows of current sheet with rows of expected workbook sheet on key columns, regardless of row order.
+     * Missing, unexpected and differing rows are reported. Reconciliation is done immediately, also in deferred mode.
+     */
+    public ExcelAssert reconcilesRowsWith(@NotNull File expectedFile, @NotNull RowReconciliation reconciliation) {
+        if (sheetName == null || sheetRef == null)
+            return this; //assertion about not existing sheet already exist
+
+        try (var expected = StreamingWorkbookReader.open(expectedFile);
+             var reconciler = new RowReconciler(reconciliation, sheetName)) {
+            String expectedSheetName = reconciliation.getExpectedSheetName() instanceof String name ? name : sheetName;
+            int expectedSheetIndex = indexOfIgnoreCase(expected.getSheetNames(), expectedSheetName);
+            if (expectedSheetIndex < 0) {
+                softly.fail("Cannot find sheet with name '%s' in expected workbook".formatted(expectedSheetName));
+                return this;
+            }
+
+            try (var expectedCursor = SheetCursor.of(expected, expectedSheetIndex);
+                 var actualCursor = isDeferred() ? SheetCursor.of(deferredReader, sheetIndex) : SheetCursor.of(sheet)) {
+                reconciler.reconcile(expectedCursor, actualCursor, softly);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new AssertionError("Failed to read expected Excel file: <" + expectedFile.getName() + ">. Reason: " + e.getMessage(), e);
+        }
+        return this;
+    }
+
+    private static int indexOfIgnoreCase(List<String> sheetNames, String sheetName) {
+        for (int i = 0; i < sheetNames.size(); i++)
+            if (sheetNames.get(i).equalsIgnoreCase(sheetName)) // same rule as in Workbook.getSheet
+                return i;
+        return -1;
+    }
+
+    private DeferredSheetAssertions getDeferredSheetAssertions() {
+        return deferredAssertions.computeIfAbsent(sheetIndex, i -> new DeferredSheetAssertions(new ArrayList<>(), new ArrayList<>()));
+    }
+
     private void addAssert(CellAssertion<?> cellAssertion) {
-        if (sheet == null || sheetRef == null)
+        if (sheetName == null || sheetRef == null)
             return; //assertion about not existing sheet already exist
 
-        cellAssertion
-                .withSheetName(sheet.getSheetName()) //bind sheet name for logging purposes
-                .applyAssert(getCell(cellAssertion, sheet), softly);
+        cellAssertion.withSheetName(sheetName); //bind sheet name for logging purposes
+        if (isDeferred())
+            getDeferredSheetAssertions().cellAssertions().add(cellAssertion);
+        else
+            cellAssertion.applyAssert(getCell(cellAssertion, sheet), context, softly);
         assertions.add(new CellAssertionAtSheet(cellAssertion, sheetRef));
     }
 
-    private static @NotNull Cell getCell(CellAssertion<?> cellAssertion, Sheet sheet) {
-        var ref = new CellReference(cellAssertion.getCellAddress());
-        Row row = sheet.getRow(ref.getRow()) instanceof Row r ? r : sheet.createRow(ref.getRow());
-        return row.getCell(ref.getCol()) instanceof Cell c ? c : row.createCell(ref.getCol());
+    /**
+     * Read-only lookup - absent cell is returned as {@code null}, workbook under test is never modified.
+     */
+    private static @Nullable Cell getCell(CellAssertion<?> cellAssertion, Sheet sheet) {
+        return sheet.getRow(cellAssertion.getRowIndex()) instanceof Row row ? row.getCell(cellAssertion.getColumnIndex()) : null;
+    }
+
+    private void applyDeferredAssertions() throws IOException {
+        if (parallel && deferredAssertions.size() > 1)
+            applyDeferredAssertionsInParallel();
+        else
+            for (var sheetAssertions : deferredAssertions.entrySet())
+                applySheetAssertions(sheetAssertions.getKey(), sheetAssertions.getValue(), softly);
+        deferredAssertions.clear();
+    }
+
+    private void applyDeferredAssertionsInParallel() throws IOException {
+        List<Future<SoftAssertions>> results = new ArrayList<>(deferredAssertions.size());
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var sheetAssertions : deferredAssertions.entrySet())
+                results.add(executor.submit(() -> {
+                    var sheetSoftly = new SoftAssertions();
+                    applySheetAssertions(sheetAssertions.getKey(), sheetAssertions.getValue(), sheetSoftly);
+                    return sheetSoftly;
+                }));
+
+            for (var result : results) // in sheet order, regardless of which sheet finished first
+                for (var error : result.get().assertionErrorsCollected())
+                    softly.collectAssertionError(error);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while evaluating sheets in parallel");
+        } catch (ExecutionException e) {
+            switch (e.getCause()) {
+                case IOException ioException -> throw ioException;
+                case RuntimeException runtimeException -> throw runtimeException;
+                case Error error -> throw error;
+                default -> throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    private void applySheetAssertions(int sheetIndex, DeferredSheetAssertions sheetAssertions, SoftAssertions softly) throws IOException {
+        Map<Long, List<CellAssertion<?>>> byAddress = new HashMap<>();
+        for (var cellAssertion : sheetAssertions.cellAssertions())
+            byAddress.computeIfAbsent(toKey(cellAssertion.getRowIndex(), cellAssertion.getColumnIndex()), k -> new ArrayList<>()).add(cellAssertion);
+
+        List<CellRangeAssertion> rangeAssertions = sheetAssertions.rangeAssertions();
+        List<CellRangeAssertion.Walk> rangeWalks = rangeAssertions.stream().map(rangeAssertion -> rangeAssertion.startWalk(deferredReader.isDate1904())).toList();
+
+        StreamingSheetComments comments = deferredReader.getSheetComments(sheetIndex);
+        deferredReader.readSheet(sheetIndex, new CellEntryHandler() {
+            private List<CellAssertion<?>> current;
+            private boolean inRange;
+            private int currentRow;
+            private int currentColumn;
+
+            @Override
+            public boolean acceptCell(int rowIndex, int columnIndex) {
+                current = byAddress.isEmpty() ? null : byAddress.remove(toKey(rowIndex, columnIndex));
+                inRange = false;
+                for (var rangeAssertion : rangeAssertions)
+                    inRange |= rangeAssertion.contains(rowIndex, columnIndex);
+                currentRow = rowIndex;
+                currentColumn = columnIndex;
+                return current != null || inRange;
+            }
+
+            @Override
+            public void cell(@NotNull CellEntry<?> cellEntry) {
+                if (current != null)
+                    for (var cellAssertion : current)
+                        cellAssertion.applyAssert(cellEntry, deferredReader.isDate1904(), softly);
+
+                if (inRange)
+                    for (int i = 0; i < rangeAssertions.size(); i++)
+                        if (rangeAssertions.get(i).contains(currentRow, currentColumn))
+                            rangeWalks.get(i).accept(currentRow, currentColumn, cellEntry);
+            }
+        }, comments);
+
+        // cells that are not stored in file are asserted as blank ones - without a style, same as absent cells of DOM workbook,
+        // they have the default "General" format; a comment may still be anchored to such cell
+        for (var missingCellAssertions : byAddress.values())
+            for (var cellAssertion : missingCellAssertions) {
+                var missingCell = new NoValueCellEntry(cellAssertion.getCellAddress(), "General",
+                        comments.at(cellAssertion.getRowIndex(), cellAssertion.getColumnIndex()));
+                cellAssertion.applyAssert(missingCell, deferredReader.isDate1904(), softly);
+            }
+
+        for (var rangeWalk : rangeWalks)
+            rangeWalk.finish(softly);
     }
 
+    private static long toKey(int rowIndex, int columnIndex) {return ((long) rowIndex << 32) | columnIndex;}
+
     @Override
     public void close() {
-        try {
-            workbook.close();
-        } catch (IOException e) {
-            throw new UncheckedIOException(e); // wrap to avoid checked exceptions
+        if (isDeferred()) {
+            try {
+                applyDeferredAssertions();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                deferredReader.close();
+            }
+        } else {
+            try {
+                workbook.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // wrap to avoid checked exceptions
+            }
         }
 
         softly.assertAll();
@@ -117,8 +385,15 @@ public final class ExcelAssert implements AutoCloseable {
         public String toString() {return "#" + ref;}
     }
 
+    private record DeferredSheetAssertions(List<CellAssertion<?>> cellAssertions, List<CellRangeAssertion> rangeAssertions) {}
+
     record CellAssertionAtSheet(@NotNull CellAssertion<?> assertion, @NotNull SheetRef<?> sheetRef) {
         @Override
         public String toString() {return sheetRef + ": " + assertion;}
     }
-}
\ No newline at end of file
+
+    record CellRangeAssertionAtSheet(@NotNull CellRangeAssertion assertion, @NotNull SheetRef<?> sheetRef) {
+        @Override
+        public String toString() {return sheetRef + ": " + assertion;}
+    }
+}
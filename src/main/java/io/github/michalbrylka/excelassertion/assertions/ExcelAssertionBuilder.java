@@ -1,6 +1,9 @@
 package io.github.michalbrylka.excelassertion.assertions;
 
+import io.github.michalbrylka.excelassertion.io.StreamingWorkbookReader;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
 import org.assertj.core.data.Offset;
 import org.assertj.core.data.Percentage;
 import io.github.michalbrylka.excelassertion.assertions.text.*;
@@ -8,12 +11,16 @@ import io.github.michalbrylka.excelassertion.assertions.number.*;
 import io.github.michalbrylka.excelassertion.assertions.cell.*;
 
 import java.io.*;
+import java.nio.file.Path;
 
 public class ExcelAssertionBuilder {
 
+    /**
+     * Opens the file read-only, directly from disk (random-access zip for OOXML), so the workbook is neither buffered in memory nor written back on close.
+     */
     public static ExcelAssert assertThatExcel(File file) {
-        try (FileInputStream fis = new FileInputStream(file)) {
-            return new ExcelAssert(WorkbookFactory.create(fis));
+        try {
+            return new ExcelAssert(WorkbookFactory.create(file, null, true));
         } catch (IOException e) {
             // A failure to open the file should still fail fast.
             throw new AssertionError("Failed to read Excel file: <" + file.getName() + ">. Reason: " + e.getMessage(), e);
@@ -24,6 +31,10 @@ public class ExcelAssertionBuilder {
         return assertThatExcel(new File(filePath));
     }
 
+    public static ExcelAssert assertThatExcel(Path filePath) {
+        return assertThatExcel(filePath.toFile());
+    }
+
     public static ExcelAssert assertThatExcel(byte[] excelBytes) {
         try (InputStream is = new ByteArrayInputStream(excelBytes)) {
             return new ExcelAssert(WorkbookFactory.create(is));
@@ -32,7 +43,53 @@ public class ExcelAssertionBuilder {
         }
     }
 
-    public static ExcelCellAssertionBuilder cellAt(String cellAddress) {return new ExcelCellAssertionBuilder(cellAddress);}
+    /**
+     * Opens the file for deferred evaluation: assertions are recorded and checked on {@link ExcelAssert#close()}
+     * in one streaming pass per referenced sheet. Formula cells are asserted on their cached results. Only OOXML files are supported.
+     */
+    public static ExcelAssert assertThatExcelDeferred(File file) {
+        try {
+            return new ExcelAssert(StreamingWorkbookReader.open(file));
+        } catch (IOException e) {
+            throw new AssertionError("Failed to read Excel file: <" + file.getName() + ">. Reason: " + e.getMessage(), e);
+        }
+    }
+
+    public static ExcelAssert assertThatExcelDeferred(String filePath) {
+        return assertThatExcelDeferred(new File(filePath));
+    }
+
+    public static ExcelAssert assertThatExcelDeferred(Path filePath) {
+        return assertThatExcelDeferred(filePath.toFile());
+    }
+
+    public static ExcelCellAssertionBuilder cellAt(String cellAddress) {
+        if (cellAddress == null || cellAddress.isBlank())
+            throw new IllegalArgumentException("cellAddress cannot be null nor blank");
+        return new ExcelCellAssertionBuilder(cellAddress);
+    }
+
+    /**
+     * Builder for generated assertions - no address text is created nor parsed unless assertion fails
+     *
+     * @param rowIndex    0-based row index
+     * @param columnIndex 0-based column index
+     */
+    public static ExcelIndexedCellAssertionBuilder cellAt(int rowIndex, int columnIndex) {return new ExcelIndexedCellAssertionBuilder(rowIndex, columnIndex);}
+
+    /**
+     * Same check applied to every cell of rectangular range, e.g. {@code cellsIn("B2:B200000").withNumber(greaterThanOrEqualTo(0))}
+     */
+    public static ExcelRangeAssertionBuilder cellsIn(String rangeAddress) {
+        if (rangeAddress == null || rangeAddress.isBlank())
+            throw new IllegalArgumentException("rangeAddress cannot be null nor blank");
+        var range = CellRangeAddress.valueOf(rangeAddress);
+        if (range.getFirstRow() < 0 || range.getFirstColumn() < 0 || range.getLastRow() < 0 || range.getLastColumn() < 0)
+            throw new IllegalArgumentException("'%s' is not a valid cell range".formatted(rangeAddress));
+        return new ExcelRangeAssertionBuilder(new CellRangeAddress(
+                Math.min(range.getFirstRow(), range.getLastRow()), Math.max(range.getFirstRow(), range.getLastRow()),
+                Math.min(range.getFirstColumn(), range.getLastColumn()), Math.max(range.getFirstColumn(), range.getLastColumn())));
+    }
 
     public static EqualsTextAssertion equalTo(String expectedText) {return new EqualsTextAssertion(expectedText, false, false);}
 
@@ -70,21 +127,82 @@ public class ExcelAssertionBuilder {
 
     public static BooleanAssertion ofFalse() {return new BooleanAssertion(false);}
 
+    /**
+     * Address is parsed once per built assertion, which then locates the cell by indices
+     */
     public record ExcelCellAssertionBuilder(String cellAddress) {
-        public ValueCellAssertion<Boolean, ?> withBoolean(BooleanAssertion booleanAssertion) {return new BooleanCellAssertion(cellAddress, booleanAssertion.expected);}
+        public ExcelCellAssertionBuilder {
+            indexed(cellAddress); // reject malformed address when building, not when asserting
+        }
+
+        private ExcelIndexedCellAssertionBuilder indexed() {return indexed(cellAddress);}
+
+        private static ExcelIndexedCellAssertionBuilder indexed(String cellAddress) {
+            var ref = new CellReference(cellAddress);
+            return new ExcelIndexedCellAssertionBuilder(ref.getRow(), ref.getCol());
+        }
+
+        public ValueCellAssertion<Boolean, ?> withBoolean(BooleanAssertion booleanAssertion) {return indexed().withBoolean(booleanAssertion);}
+
+        public ValueCellAssertion<Double, ?> withNumber(NumberAssertion numberAssertion) {return indexed().withNumber(numberAssertion);}
+
+        public ValueCellAssertion<String, ?> withText(TextAssertion<?> textAssertion) {return indexed().withText(textAssertion);}
+
+        public ValueCellAssertion<String, ?> withText(String expectedText) {return indexed().withText(expectedText);}
+
+        public ValueCellAssertion<String, ?> withFormulaText(TextAssertion<?> textAssertion) {return indexed().withFormulaText(textAssertion);}
+
+        public ValueCellAssertion<String, ?> withErrorText(TextAssertion<?> textAssertion) {return indexed().withErrorText(textAssertion);}
+
+        public CellAssertion<?> empty() {return indexed().empty();}
+
+        public CellAssertion<?> exists() {return indexed().exists();}
+    }
+
+    /**
+     * Same as {@link ExcelCellAssertionBuilder}, for cells located by 0-based indices
+     */
+    public record ExcelIndexedCellAssertionBuilder(int rowIndex, int columnIndex) {
+        public ExcelIndexedCellAssertionBuilder {
+            if (rowIndex < 0 || columnIndex < 0)
+                throw new IllegalArgumentException("cell indices cannot be negative: row %d, column %d".formatted(rowIndex, columnIndex));
+        }
+
+        public ValueCellAssertion<Boolean, ?> withBoolean(BooleanAssertion booleanAssertion) {return new BooleanCellAssertion(rowIndex, columnIndex, booleanAssertion.expected);}
+
+        public ValueCellAssertion<Double, ?> withNumber(NumberAssertion numberAssertion) {return new NumberCellAssertion(rowIndex, columnIndex, numberAssertion);}
+
+        public ValueCellAssertion<String, ?> withText(TextAssertion<?> textAssertion) {return new TextCellAssertion(rowIndex, columnIndex, textAssertion);}
+
+        public ValueCellAssertion<String, ?> withText(String expectedText) {return new TextCellAssertion(rowIndex, columnIndex, new EqualsTextAssertion(expectedText, false, false));}
+
+        public ValueCellAssertion<String, ?> withFormulaText(TextAssertion<?> textAssertion) {return new FormulaTextCellAssertion(rowIndex, columnIndex, textAssertion);}
+
+        public ValueCellAssertion<String, ?> withErrorText(TextAssertion<?> textAssertion) {return new ErrorTextCellAssertion(rowIndex, columnIndex, textAssertion);}
+
+        public CellAssertion<?> empty() {return new EmptyCellAssertion(rowIndex, columnIndex);}
+
+        public CellAssertion<?> exists() {return new SimpleCellAssertion(rowIndex, columnIndex);}
+    }
+
+    /**
+     * Range assertions share single cell assertion, created at first cell of the range
+     */
+    public record ExcelRangeAssertionBuilder(CellRangeAddress range) {
+        private ExcelIndexedCellAssertionBuilder firstCell() {return new ExcelIndexedCellAssertionBuilder(range.getFirstRow(), range.getFirstColumn());}
 
-        public ValueCellAssertion<Double, ?> withNumber(NumberAssertion numberAssertion) {return new NumberCellAssertion(cellAddress, numberAssertion);}
+        public CellRangeAssertion withBoolean(BooleanAssertion booleanAssertion) {return new CellRangeAssertion(range, firstCell().withBoolean(booleanAssertion), "value is " + booleanAssertion.expected);}
 
-        public ValueCellAssertion<String, ?> withText(TextAssertion<?> textAssertion) {return new TextCellAssertion(cellAddress, textAssertion);}
+        public CellRangeAssertion withNumber(NumberAssertion numberAssertion) {return new CellRangeAssertion(range, firstCell().withNumber(numberAssertion), "number is " + numberAssertion);}
 
-        public ValueCellAssertion<String, ?> withText(String expectedText) {return new TextCellAssertion(cellAddress, new EqualsTextAssertion(expectedText, false, false));}
+        public CellRangeAssertion withText(TextAssertion<?> textAssertion) {return new CellRangeAssertion(range, firstCell().withText(textAssertion), "text is " + textAssertion);}
 
-        public ValueCellAssertion<String, ?> withFormulaText(TextAssertion<?> textAssertion) {return new FormulaTextCellAssertion(cellAddress, textAssertion);}
+        public CellRangeAssertion withText(String expectedText) {return withText(new EqualsTextAssertion(expectedText, false, false));}
 
-        public ValueCellAssertion<String, ?> withErrorText(TextAssertion<?> textAssertion) {return new ErrorTextCellAssertion(cellAddress, textAssertion);}
+        public CellRangeAssertion withFormulaText(TextAssertion<?> textAssertion) {return new CellRangeAssertion(range, firstCell().withFormulaText(textAssertion), "formula text is " + textAssertion);}
 
-        public CellAssertion<?> empty() {return new EmptyCellAssertion(cellAddress);}
+        public CellRangeAssertion withErrorText(TextAssertion<?> textAssertion) {return new CellRangeAssertion(range, firstCell().withErrorText(textAssertion), "error text is " + textAssertion);}
 
-        public CellAssertion<?> exists() {return new SimpleCellAssertion(cellAddress);}
+        public CellRangeAssertion empty() {return new CellRangeAssertion(range, new EmptyCellAssertion(range.getFirstRow(), range.getFirstColumn()), "is EMPTY");}
     }
 }
@@ -0,0 +1,36 @@
+package io.github.michalbrylka.excelassertion.assertions;
+
+import io.github.michalbrylka.excelassertion.assertions.number.CloseToOffsetNumberAssertion;
+import io.github.michalbrylka.excelassertion.assertions.number.CloseToPercentNumberAssertion;
+import io.github.michalbrylka.excelassertion.assertions.number.EqualToNumberAssertion;
+import io.github.michalbrylka.excelassertion.assertions.number.NumberAssertion;
+import org.assertj.core.data.Offset;
+import org.assertj.core.data.Percentage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * What differences are tolerated when workbook is compared with golden one. Numbers are compared exactly unless offset or percentage is given.
+ */
+public record GoldenTolerances(@Nullable Offset<Double> offset, @Nullable Percentage percentage, boolean compareFormats, boolean compareFormulas) {
+    public GoldenTolerances {
+        if (offset != null && percentage != null)
+            throw new IllegalArgumentException("Only one of offset and percentage can be set");
+    }
+
+    public static GoldenTolerances exact() {return new GoldenTolerances(null, null, true, true);}
+
+    public GoldenTolerances withOffset(@NotNull Offset<Double> offset) {return new GoldenTolerances(offset, null, compareFormats, compareFormulas);}
+
+    public GoldenTolerances withPercentage(@NotNull Percentage percentage) {return new GoldenTolerances(null, percentage, compareFormats, compareFormulas);}
+
+    public GoldenTolerances ignoringFormats() {return new GoldenTolerances(offset, percentage, false, compareFormulas);}
+
+    public GoldenTolerances ignoringFormulas() {return new GoldenTolerances(offset, percentage, compareFormats, false);}
+
+    NumberAssertion numberAssertion(double expected) {
+        if (offset != null) return new CloseToOffsetNumberAssertion(expected, offset);
+        if (percentage != null) return new CloseToPercentNumberAssertion(expected, percentage);
+        return new EqualToNumberAssertion(expected);
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.michalbrylka.excelassertion.assertions;
+
+import io.github.michalbrylka.excelassertion.assertions.SheetCursor.PositionedCell;
+import io.github.michalbrylka.excelassertion.assertions.cell.*;
+import io.github.michalbrylka.excelassertion.assertions.text.EqualsTextAssertion;
+import io.github.michalbrylka.excelassertion.io.*;
+import org.apache.poi.ss.util.CellReference;
+import org.assertj.core.api.SoftAssertions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Merge-join of golden workbook with actual one. Golden sheets are streamed, cells of actual sheet are pulled from {@link SheetCursor}
+ * in the same row-major order, so neither workbook is materialized for comparison.
+ * Each pair of cells is checked with cell assertion created from golden cell, reported as any other assertion.
+ */
+final class GoldenWorkbookComparison {
+    private final StreamingWorkbookReader golden;
+    private final GoldenTolerances tolerances;
+    private final SoftAssertions softly;
+    private boolean actualDate1904;
+
+    GoldenWorkbookComparison(StreamingWorkbookReader golden, GoldenTolerances tolerances, SoftAssertions softly) {
+        this.golden = golden;
+        this.tolerances = tolerances;
+        this.softly = softly;
+    }
+
+    /**
+     * @param actualSheetNames sheet names of actual workbook, matched with golden ones ignoring case
+     * @param actualSheets     opens cursor over sheet of actual workbook with given index
+     * @param actualDate1904   whether dates of actual workbook are counted from 1904
+     */
+    void compareWith(List<String> actualSheetNames, IntFunction<SheetCursor> actualSheets, boolean actualDate1904) throws IOException {
+        this.actualDate1904 = actualDate1904;
+        List<String> goldenSheetNames = golden.getSheetNames();
+        for (int goldenIndex = 0; goldenIndex < goldenSheetNames.size(); goldenIndex++) {
+            String sheetName = goldenSheetNames.get(goldenIndex);
+            int actualIndex = indexOfIgnoreCase(actualSheetNames, sheetName);
+            if (actualIndex < 0) {
+                softly.fail("Sheet '%s' of golden workbook is missing".formatted(sheetName));
+                continue;
+            }
+            try (var cursor = actualSheets.apply(actualIndex)) {
+                compareSheet(goldenIndex, actualSheetNames.get(actualIndex), cursor);
+            }
+        }
+
+        for (String actualSheetName : actualSheetNames)
+            if (indexOfIgnoreCase(goldenSheetNames, actualSheetName) < 0)
+                softly.fail("Sheet '%s' is not present in golden workbook".formatted(actualSheetName));
+    }
+
+    private static int indexOfIgnoreCase(List<String> sheetNames, String sheetName) {
+        for (int i = 0; i < sheetNames.size(); i++)
+            if (sheetNames.get(i).equalsIgnoreCase(sheetName))
+                return i;
+        return -1;
+    }
+
+    private void compareSheet(int goldenIndex, String sheetName, SheetCursor actual) throws IOException {
+        var handler = new CellEntryHandler() {
+            private PositionedCell pending = actual.next();
+            private int rowIndex;
+            private int columnIndex;
+
+            @Override
+            public boolean acceptCell(int rowIndex, int columnIndex) {
+                this.rowIndex = rowIndex;
+                this.columnIndex = columnIndex;
+                return true;
+            }
+
+            @Override
+            public void cell(@NotNull CellEntry<?> expected) {
+                while (pending != null && (pending.rowIndex() < rowIndex || pending.rowIndex() == rowIndex && pending.columnIndex() < columnIndex)) {
+                    compareCell(sheetName, pending.rowIndex(), pending.columnIndex(), null, pending.cellEntry());
+                    pending = actual.next();
+                }
+
+                if (pending != null && pending.rowIndex() == rowIndex && pending.columnIndex() == columnIndex) {
+                    compareCell(sheetName, rowIndex, columnIndex, expected, pending.cellEntry());
+                    pending = actual.next();
+                } else
+                    compareCell(sheetName, rowIndex, columnIndex, expected, null);
+            }
+        };
+        golden.readSheet(goldenIndex, handler);
+
+        for (var extra = handler.pending; extra != null; extra = actual.next())
+            compareCell(sheetName, extra.rowIndex(), extra.columnIndex(), null, extra.cellEntry());
+    }
+
+    /**
+     * @param expected golden cell or {@code null} when it is absent from golden sheet
+     * @param actual   actual cell or {@code null} when it is absent from actual sheet
+     */
+    private void compareCell(String sheetName, int rowIndex, int columnIndex, @Nullable CellEntry<?> expected, @Nullable CellEntry<?> actual) {
+        if (expected != null && expected.equals(actual))
+            return;
+
+        if (actual == null)
+            actual = new NoValueCellEntry(new CellReference(rowIndex, columnIndex).formatAsString(false), "General");
+        if (expected == null) {
+            new EmptyCellAssertion(rowIndex, columnIndex).withSheetName(sheetName).applyAssert(actual, actualDate1904, softly);
+            return;
+        }
+
+        CellEntry<?> expectedValue = expected;
+        if (expected instanceof FormulaCellEntry<?> formulaEntry) {
+            if (tolerances.compareFormulas())
+                new FormulaTextCellAssertion(rowIndex, columnIndex, new EqualsTextAssertion(formulaEntry.formula(), true, true))
+                        .withSheetName(sheetName)
+                        .applyAssert(actual, actualDate1904, softly);
+            if (formulaEntry.result() == null)
+                return;
+            expectedValue = formulaEntry.result();
+        } else if (tolerances.compareFormulas() && actual instanceof FormulaCellEntry<?> formulaEntry)
+            softly.fail("%s!%s: expected value but was formula '%s'".formatted(sheetName, actual.address(), formulaEntry.formula()));
+
+        ValueCellAssertion<?, ?> valueAssertion = switch (expectedValue) {
+            case TextCellEntry textEntry -> new TextCellAssertion(rowIndex, columnIndex, new EqualsTextAssertion(textEntry.value(), false, false));
+            case NumberCellEntry numberEntry -> new NumberCellAssertion(rowIndex, columnIndex, tolerances.numberAssertion(numberEntry.doubleValue()));
+            case PrimitiveNumberCellEntry numberEntry -> new NumberCellAssertion(rowIndex, columnIndex, tolerances.numberAssertion(numberEntry.doubleValue()));
+            case DateCellEntry dateEntry -> new DateTimeCellAssertion(rowIndex, columnIndex).isEqualTo(dateEntry.value());
+            case BooleanCellEntry booleanEntry -> new BooleanCellAssertion(rowIndex, columnIndex, booleanEntry.value());
+            case ErrorCellEntry errorEntry -> new ErrorTextCellAssertion(rowIndex, columnIndex, new EqualsTextAssertion(errorEntry.value(), false, false));
+            case NoValueCellEntry ignored -> new EmptyCellAssertion(rowIndex, columnIndex);
+            case FormulaCellEntry<?> ignored -> throw new IllegalStateException("Formula result cannot be a formula");
+        };
+        if (tolerances.compareFormats() && expected.format() != null)
+            valueAssertion.withFormat(expected.format());
+        valueAssertion.withSheetName(sheetName).applyAssert(actual, actualDate1904, softly);
+    }
+}
@@ -0,0 +1,451 @@
+package io.github.michalbrylka.excelassertion.assertions;
+
+import io.github.michalbrylka.excelassertion.assertions.SheetCursor.PositionedCell;
+import io.github.michalbrylka.excelassertion.assertions.number.EqualToNumberAssertion;
+import io.github.michalbrylka.excelassertion.assertions.number.NumberAssertion;
+import io.github.michalbrylka.excelassertion.assertions.text.EqualsTextAssertion;
+import io.github.michalbrylka.excelassertion.assertions.text.TextAssertion;
+import io.github.michalbrylka.excelassertion.io.*;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.assertj.core.api.SoftAssertions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.DoubleFunction;
+import java.util.function.Function;
+
+/**
+ * Hash join of expected and actual rows on key columns. Expected rows are indexed by key, actual rows are streamed against the index.
+ * When expected rows exceed memory budget, both sides are partitioned by key hash to temporary files and each partition is joined in memory.
+ * Partitions still holding more expected rows than the budget are partitioned again by next bits of the key hash.
+ */
+final class RowReconciler implements AutoCloseable {
+    /**
+     * Number of rows listed in failure message of each kind, the rest is only counted
+     */
+    static final int MAX_REPORTED_ROWS = 20;
+
+    private static final int PARTITION_BITS = 4;
+    private static final int PARTITIONS = 1 << PARTITION_BITS;
+    /**
+     * Deepest partitioning level, rows of its partitions share whole key hash and cannot be split further
+     */
+    private static final int MAX_PARTITION_LEVEL = Integer.SIZE / PARTITION_BITS - 1;
+    private static final String KEY_SEPARATOR = "\u001F";
+
+    private final RowReconciliation reconciliation;
+    private final String sheetName;
+    private Map<String, KeyedRow> index = new LinkedHashMap<>();
+    private Path spillDirectory;
+    private Partitions expectedPartitions;
+    private Partitions actualPartitions;
+    private final RowReport missingRows = new RowReport();
+    private final RowReport extraRows = new RowReport();
+    private final RowReport mismatchedRows = new RowReport();
+    private final RowReport duplicateRows = new RowReport();
+    private int expectedRowCount;
+    private int actualRowCount;
+
+    RowReconciler(RowReconciliation reconciliation, String sheetName) {
+        this.reconciliation = reconciliation;
+        this.sheetName = sheetName;
+    }
+
+    void reconcile(SheetCursor expected, SheetCursor actual, SoftAssertions softly) throws IOException {
+        forEachRow(expected, this::addExpected);
+        forEachRow(actual, this::matchActual);
+        if (spillDirectory == null)
+            index.values().forEach(this::reportMissing);
+        else
+            reconcilePartitions(expectedPartitions, actualPartitions);
+
+        missingRows.report(softly, "%d of %d expected rows are missing from %s".formatted(missingRows.count, expectedRowCount, sheetName));
+        extraRows.report(softly, "%d of %d rows of %s are not expected".formatted(extraRows.count, actualRowCount, sheetName));
+        mismatchedRows.report(softly, "%d rows of %s differ from expected".formatted(mismatchedRows.count, sheetName));
+        duplicateRows.report(softly, "%d expected rows of %s have duplicate key".formatted(duplicateRows.count, sheetName));
+    }
+
+    private void forEachRow(SheetCursor cursor, RowConsumer consumer) throws IOException {
+        List<PositionedCell> cells = new ArrayList<>();
+        while (true) {
+            PositionedCell cell = cursor.next();
+            if (!cells.isEmpty() && (cell == null || cell.rowIndex() != cells.getFirst().rowIndex())) {
+                if (toKeyedRow(cells) instanceof KeyedRow row)
+                    consumer.accept(row);
+                cells.clear();
+            }
+            if (cell == null) return;
+            if (cell.rowIndex() >= reconciliation.getHeaderRows())
+                cells.add(cell);
+        }
+    }
+
+    /**
+     * Formula cells are represented by their cached results, rows without any key value are skipped
+     */
+    private @Nullable KeyedRow toKeyedRow(List<PositionedCell> cells) {
+        int[] columns = new int[cells.size()];
+        CellEntry<?>[] values = new CellEntry<?>[cells.size()];
+        int length = 0;
+        for (var cell : cells) {
+            CellEntry<?> value = cell.cellEntry() instanceof FormulaCellEntry<?> formulaEntry ? formulaEntry.result() : cell.cellEntry();
+            if (value == null || value instanceof NoValueCellEntry) continue;
+            columns[length] = cell.columnIndex();
+            values[length++] = value;
+        }
+
+        columns = Arrays.copyOf(columns, length);
+        values = Arrays.copyOf(values, length);
+        StringJoiner key = new StringJoiner(KEY_SEPARATOR);
+        boolean hasKeyValue = false;
+        for (int keyColumn : reconciliation.getKeyColumns()) {
+            int i = Arrays.binarySearch(columns, keyColumn);
+            hasKeyValue |= i >= 0;
+            key.add(i >= 0 ? toKeyText(values[i]) : "");
+        }
+        return hasKeyValue ? new KeyedRow(key.toString(), cells.getFirst().rowIndex(), columns, values) : null;
+    }
+
+    private static String toKeyText(CellEntry<?> value) {
+        return switch (value) {
+            case TextCellEntry textEntry -> textEntry.value();
+            case NumberCellEntry numberEntry -> NumberToTextConverter.toText(numberEntry.doubleValue());
+            case PrimitiveNumberCellEntry numberEntry -> NumberToTextConverter.toText(numberEntry.doubleValue());
+            default -> String.valueOf(value.value());
+        };
+    }
+
+    private void addExpected(KeyedRow row) throws IOException {
+        expectedRowCount++;
+        if (spillDirectory != null) {
+            expectedPartitions.write(row);
+            return;
+        }
+        if (index.putIfAbsent(row.key(), row) instanceof KeyedRow previous)
+            reportDuplicate(previous, row);
+        else if (index.size() > reconciliation.getMemoryBudget())
+            spill();
+    }
+
+    private void matchActual(KeyedRow row) throws IOException {
+        actualRowCount++;
+        if (spillDirectory != null)
+            actualPartitions.write(row);
+        else
+            match(index, row);
+    }
+
+    private void match(Map<String, KeyedRow> index, KeyedRow actual) {
+        if (index.remove(actual.key()) instanceof KeyedRow expected)
+            compare(expected, actual);
+        else
+            extraRows.add("%s (row %d)".formatted(displayKey(actual.key()), actual.rowIndex() + 1));
+    }
+
+    private void spill() throws IOException {
+        spillDirectory = Files.createTempDirectory("row-reconciliation-");
+        expectedPartitions = new Partitions(spillDirectory, "expected", 0);
+        actualPartitions = new Partitions(spillDirectory, "actual", 0);
+        for (var row : index.values())
+            expectedPartitions.write(row);
+        index = null;
+    }
+
+    private void reconcilePartitions(Partitions expected, Partitions actual) throws IOException {
+        expected.close();
+        actual.close();
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            if (expected.rowCounts[partition] > reconciliation.getMemoryBudget() && expected.level < MAX_PARTITION_LEVEL) {
+                reconcilePartitions(expected.split(partition), actual.split(partition));
+                continue;
+            }
+
+            Map<String, KeyedRow> partitionIndex = new LinkedHashMap<>();
+            try (var input = openPartition(expected.files[partition])) {
+                for (var row = read(input); row != null; row = read(input))
+                    if (partitionIndex.putIfAbsent(row.key(), row) instanceof KeyedRow previous)
+                        reportDuplicate(previous, row);
+            }
+            try (var input = openPartition(actual.files[partition])) {
+                for (var row = read(input); row != null; row = read(input))
+                    match(partitionIndex, row);
+            }
+            partitionIndex.values().forEach(this::reportMissing);
+        }
+    }
+
+    private static DataInputStream openPartition(Path file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+    }
+
+    private void reportMissing(KeyedRow row) {missingRows.add("%s (row %d)".formatted(displayKey(row.key()), row.rowIndex() + 1));}
+
+    private void reportDuplicate(KeyedRow previous, KeyedRow row) {
+        duplicateRows.add("%s (rows %d and %d)".formatted(displayKey(row.key()), previous.rowIndex() + 1, row.rowIndex() + 1));
+    }
+
+    private static String displayKey(String key) {return "[" + key.replace(KEY_SEPARATOR, ", ") + "]";}
+
+    private void compare(KeyedRow expected, KeyedRow actual) {
+        List<String> differences = new ArrayList<>();
+        int e = 0, a = 0;
+        while (e < expected.columns().length || a < actual.columns().length) {
+            int expectedColumn = e < expected.columns().length ? expected.columns()[e] : Integer.MAX_VALUE;
+            int actualColumn = a < actual.columns().length ? actual.columns()[a] : Integer.MAX_VALUE;
+            int column = Math.min(expectedColumn, actualColumn);
+            CellEntry<?> expectedValue = expectedColumn == column ? expected.values()[e++] : null;
+            CellEntry<?> actualValue = actualColumn == column ? actual.values()[a++] : null;
+            if (!reconciliation.isKeyColumn(column) && describeDifference(column, expectedValue, actualValue) instanceof String difference)
+                differences.add(difference);
+        }
+
+        if (!differences.isEmpty())
+            mismatchedRows.add("%s (expected row %d, actual row %d): %s".formatted(
+                    displayKey(actual.key()), expected.rowIndex() + 1, actual.rowIndex() + 1, String.join("; ", differences)));
+    }
+
+    /**
+     * @return description of difference or {@code null} when values match
+     */
+    private @Nullable String describeDifference(int column, @Nullable CellEntry<?> expected, @Nullable CellEntry<?> actual) {
+        String expectation;
+        switch (expected) {
+            case null -> {
+                if (actual == null) return null;
+                expectation = "empty";
+            }
+            case NumberCellEntry numberEntry -> {
+                expectation = describeNumberDifference(column, numberEntry.doubleValue(), actual);
+                if (expectation == null) return null;
+            }
+            case PrimitiveNumberCellEntry numberEntry -> {
+                expectation = describeNumberDifference(column, numberEntry.doubleValue(), actual);
+                if (expectation == null) return null;
+            }
+            case TextCellEntry textEntry -> {
+                TextAssertion<?> assertion = reconciliation.getTextTolerance(column) instanceof Function<String, TextAssertion<?>> tolerance
+                        ? tolerance.apply(textEntry.value())
+                        : new EqualsTextAssertion(textEntry.value(), false, false);
+                if (actual instanceof TextCellEntry actualText && passes(assertion, actualText.value())) return null;
+                expectation = assertion.toString();
+            }
+            default -> {
+                if (actual != null && actual.getClass() == expected.getClass() && Objects.equals(actual.value(), expected.value())) return null;
+                expectation = describe(expected);
+            }
+        }
+        return "%s: expected %s but was %s".formatted(CellReference.convertNumToColString(column), expectation, describe(actual));
+    }
+
+    /**
+     * @return expectation description or {@code null} when actual number matches
+     */
+    private @Nullable String describeNumberDifference(int column, double expected, @Nullable CellEntry<?> actual) {
+        NumberAssertion assertion = reconciliation.getNumberTolerance(column) instanceof DoubleFunction<NumberAssertion> tolerance
+                ? tolerance.apply(expected)
+                : new EqualToNumberAssertion(expected);
+        boolean matches = switch (actual) {
+            case NumberCellEntry actualNumber -> passes(assertion, actualNumber.doubleValue());
+            case PrimitiveNumberCellEntry actualNumber -> passes(assertion, actualNumber.doubleValue());
+            case null, default -> false;
+        };
+        return matches ? null : assertion.toString();
+    }
+
+    /**
+     * Plain test may reject values that AssertJ accepts, those are confirmed by applying the assertion on a probe
+     */
+    private static boolean passes(NumberAssertion assertion, double value) {
+        if (assertion.test(value)) return true;
+        var probe = new SoftAssertions();
+        assertion.apply(probe.assertThat(value));
+        return probe.wasSuccess();
+    }
+
+    private static boolean passes(TextAssertion<?> assertion, String value) {
+        if (assertion.test(value)) return true;
+        var probe = new SoftAssertions();
+        assertion.apply(probe.assertThat(value));
+        return probe.wasSuccess();
+    }
+
+    private static String describe(@Nullable CellEntry<?> value) {
+        return switch (value) {
+            case null -> "empty";
+            case TextCellEntry textEntry -> "'%s'".formatted(textEntry.value());
+            case NumberCellEntry numberEntry -> NumberToTextConverter.toText(numberEntry.doubleValue());
+            case PrimitiveNumberCellEntry numberEntry -> NumberToTextConverter.toText(numberEntry.doubleValue());
+            default -> String.valueOf(value.value());
+        };
+    }
+
+    @Override
+    public void close() {
+        if (spillDirectory == null) return;
+        try {
+            expectedPartitions.close();
+            actualPartitions.close();
+            try (var files = Files.list(spillDirectory)) {
+                for (var file : files.toList())
+                    Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(spillDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void write(DataOutputStream output, KeyedRow row) throws IOException {
+        output.writeBoolean(true);
+        writeString(output, row.key());
+        output.writeInt(row.rowIndex());
+        output.writeInt(row.columns().length);
+        for (int i = 0; i < row.columns().length; i++) {
+            output.writeInt(row.columns()[i]);
+            switch (row.values()[i]) {
+                case TextCellEntry textEntry -> {
+                    output.writeByte('s');
+                    writeString(output, textEntry.value());
+                }
+                case NumberCellEntry numberEntry -> {
+                    output.writeByte('n');
+                    output.writeDouble(numberEntry.doubleValue());
+                }
+                case PrimitiveNumberCellEntry numberEntry -> {
+                    output.writeByte('n');
+                    output.writeDouble(numberEntry.doubleValue());
+                }
+                case BooleanCellEntry booleanEntry -> {
+                    output.writeByte('b');
+                    output.writeBoolean(booleanEntry.value());
+                }
+                case DateCellEntry dateEntry -> {
+                    output.writeByte('d');
+                    writeString(output, dateEntry.value().toString());
+                }
+                case ErrorCellEntry errorEntry -> {
+                    output.writeByte('e');
+                    writeString(output, errorEntry.value());
+                }
+                default -> throw new IllegalStateException("Unexpected value of row " + row.rowIndex() + ": " + row.values()[i]);
+            }
+        }
+    }
+
+    private static @Nullable KeyedRow read(DataInputStream input) throws IOException {
+        try {
+            input.readBoolean();
+        } catch (EOFException e) {
+            return null;
+        }
+        String key = readString(input);
+        int rowIndex = input.readInt();
+        int length = input.readInt();
+        int[] columns = new int[length];
+        CellEntry<?>[] values = new CellEntry<?>[length];
+        for (int i = 0; i < length; i++) {
+            columns[i] = input.readInt();
+            String address = new CellReference(rowIndex, columns[i]).formatAsString(false);
+            values[i] = switch (input.readByte()) {
+                case 's' -> new TextCellEntry(address, readString(input));
+                case 'n' -> new PrimitiveNumberCellEntry(address, input.readDouble());
+                case 'b' -> new BooleanCellEntry(address, input.readBoolean());
+                case 'd' -> new DateCellEntry(address, LocalDateTime.parse(readString(input)));
+                case 'e' -> new ErrorCellEntry(address, readString(input));
+                default -> throw new StreamCorruptedException("Unknown value type in row " + rowIndex);
+            };
+        }
+        return new KeyedRow(key, rowIndex, columns, values);
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return new String(input.readNBytes(input.readInt()), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Row values sorted by column, without empty cells
+     */
+    private record KeyedRow(String key, int rowIndex, int[] columns, CellEntry<?>[] values) {}
+
+    /**
+     * Rows of one side split by key hash to {@link #PARTITIONS} files, each level takes next {@link #PARTITION_BITS} bits of the hash
+     */
+    private static final class Partitions implements Closeable {
+        private final Path directory;
+        private final String name;
+        private final int level;
+        private final Path[] files = new Path[PARTITIONS];
+        private final DataOutputStream[] outputs = new DataOutputStream[PARTITIONS];
+        private final int[] rowCounts = new int[PARTITIONS];
+
+        Partitions(Path directory, String name, int level) throws IOException {
+            this.directory = directory;
+            this.name = name;
+            this.level = level;
+            for (int i = 0; i < PARTITIONS; i++) {
+                files[i] = directory.resolve("%s-%d.bin".formatted(name, i));
+                outputs[i] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(files[i])));
+            }
+        }
+
+        void write(KeyedRow row) throws IOException {
+            // multiplying by odd constant is bijective, so every level gets well mixed bits without losing any
+            int partition = (row.key().hashCode() * 0x9E3779B9 >>> level * PARTITION_BITS) & (PARTITIONS - 1);
+            RowReconciler.write(outputs[partition], row);
+            rowCounts[partition]++;
+        }
+
+        /**
+         * Moves rows of given partition to partitions of next level, the returned partitions are already closed
+         */
+        Partitions split(int partition) throws IOException {
+            var split = new Partitions(directory, "%s-%d".formatted(name, partition), level + 1);
+            try (split; var input = openPartition(files[partition])) {
+                for (var row = read(input); row != null; row = read(input))
+                    split.write(row);
+            }
+            Files.delete(files[partition]);
+            return split;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (var output : outputs)
+                output.close();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer {
+        void accept(@NotNull KeyedRow row) throws IOException;
+    }
+
+    private static final class RowReport {
+        private final StringBuilder rows = new StringBuilder();
+        private int count;
+
+        void add(String row) {
+            if (count++ >= MAX_REPORTED_ROWS) return;
+            rows.append(System.lineSeparator()).append("  ").append(row);
+        }
+
+        void report(SoftAssertions softly, String summary) {
+            if (count == 0) return;
+            softly.fail("%s: %s:%s%s".formatted(RowReconciliation.class.getSimpleName(), summary, rows,
+                    count > MAX_REPORTED_ROWS ? "%n  and %d more rows".formatted(count - MAX_REPORTED_ROWS) : ""));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.michalbrylka.excelassertion.assertions;
+
+import io.github.michalbrylka.excelassertion.assertions.number.NumberAssertion;
+import io.github.michalbrylka.excelassertion.assertions.text.TextAssertion;
+import org.apache.poi.ss.util.CellReference;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.DoubleFunction;
+import java.util.function.Function;
+
+/**
+ * Describes how rows of a sheet are matched with rows of expected sheet regardless of their order.
+ * Rows are matched on values of key columns, all other columns of matched rows are compared exactly unless a column tolerance is given.
+ * <p>
+ * Expected rows are indexed in memory up to {@link #withMemoryBudget(int)} rows, larger sheets are partitioned by key to temporary files.
+ */
+public final class RowReconciliation {
+    static final int DEFAULT_MEMORY_BUDGET = 100_000;
+
+    private final int[] keyColumns;
+    private final Map<Integer, DoubleFunction<NumberAssertion>> numberTolerances = new HashMap<>();
+    private final Map<Integer, Function<String, TextAssertion<?>>> textTolerances = new HashMap<>();
+    private int headerRows;
+    private int memoryBudget = DEFAULT_MEMORY_BUDGET;
+    private String expectedSheetName;
+
+    private RowReconciliation(int[] keyColumns) {this.keyColumns = keyColumns;}
+
+    /**
+     * @param keyColumns letters of columns that identify a row, i.e. {@code "A", "C"}
+     */
+    public static RowReconciliation byKey(@NotNull String... keyColumns) {
+        if (keyColumns.length == 0)
+            throw new IllegalArgumentException("At least one key column is required");
+        int[] columns = new int[keyColumns.length];
+        for (int i = 0; i < keyColumns.length; i++)
+            columns[i] = toColumnIndex(keyColumns[i]);
+        return new RowReconciliation(columns);
+    }
+
+    /**
+     * Number of leading rows excluded from reconciliation in both sheets
+     */
+    public RowReconciliation withHeaderRows(int headerRows) {
+        if (headerRows < 0)
+            throw new IllegalArgumentException("Number of header rows cannot be negative: " + headerRows);
+        this.headerRows = headerRows;
+        return this;
+    }
+
+    /**
+     * Numbers in the column are checked with assertion created from expected value, i.e. {@code expected -> closeTo(expected, offset(0.01))}
+     */
+    public RowReconciliation withNumberTolerance(@NotNull String column, @NotNull DoubleFunction<NumberAssertion> assertionOfExpected) {
+        numberTolerances.put(toColumnIndex(column), assertionOfExpected);
+        return this;
+    }
+
+    /**
+     * Texts in the column are checked with assertion created from expected value, i.e. {@code expected -> equalTo(expected).ignoreCase()}
+     */
+    public RowReconciliation withTextTolerance(@NotNull String column, @NotNull Function<String, TextAssertion<?>> assertionOfExpected) {
+        textTolerances.put(toColumnIndex(column), assertionOfExpected);
+        return this;
+    }
+
+    /**
+     * Maximum number of expected rows indexed in memory, rows of larger sheets are spilled to temporary files
+     */
+    public RowReconciliation withMemoryBudget(int maxRowsInMemory) {
+        if (maxRowsInMemory < 1)
+            throw new IllegalArgumentException("Memory budget has to be at least one row: " + maxRowsInMemory);
+        this.memoryBudget = maxRowsInMemory;
+        return this;
+    }
+
+    /**
+     * Name of expected sheet, by default sheet named the same as the asserted one
+     */
+    public RowReconciliation inExpectedSheet(@NotNull String sheetName) {
+        this.expectedSheetName = sheetName;
+        return this;
+    }
+
+    int[] getKeyColumns() {return keyColumns;}
+
+    boolean isKeyColumn(int columnIndex) {
+        for (int keyColumn : keyColumns)
+            if (keyColumn == columnIndex) return true;
+        return false;
+    }
+
+    @Nullable DoubleFunction<NumberAssertion> getNumberTolerance(int columnIndex) {return numberTolerances.get(columnIndex);}
+
+    @Nullable Function<String, TextAssertion<?>> getTextTolerance(int columnIndex) {return textTolerances.get(columnIndex);}
+
+    int getHeaderRows() {return headerRows;}
+
+    int getMemoryBudget() {return memoryBudget;}
+
+    @Nullable String getExpectedSheetName() {return expectedSheetName;}
+
+    private static int toColumnIndex(String column) {
+        if (column == null || !column.matches("[A-Za-z]{1,3}"))
+            throw new IllegalArgumentException("'%s' is not a valid column".formatted(column));
+        return CellReference.convertColStringToIndex(column);
+    }
+}
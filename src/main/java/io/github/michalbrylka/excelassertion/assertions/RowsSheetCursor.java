@@ -0,0 +1,44 @@
+package io.github.michalbrylka.excelassertion.assertions;
+
+import io.github.michalbrylka.excelassertion.io.CellEntry;
+import io.github.michalbrylka.excelassertion.io.DataFormats;
+import io.github.michalbrylka.excelassertion.io.SheetComments;
+import io.github.michalbrylka.excelassertion.io.ExcelOperations;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * Cursor over physical rows and cells of a workbook sheet
+ */
+final class RowsSheetCursor implements SheetCursor {
+    private final Iterator<Row> rows;
+    private Iterator<Cell> cells = Collections.emptyIterator();
+    private final DataFormats dataFormats = new DataFormats();
+    private final SheetComments comments;
+
+    RowsSheetCursor(Sheet sheet) {
+        this.rows = sheet.rowIterator();
+        this.comments = new SheetComments(sheet);
+    }
+
+    @Override
+    public @Nullable PositionedCell next() {
+        while (true) {
+            while (!cells.hasNext()) {
+                if (!rows.hasNext()) return null;
+                cells = rows.next().cellIterator();
+            }
+            Cell cell = cells.next();
+            if (ExcelOperations.toCellEntry(cell, dataFormats, comments) instanceof CellEntry<?> cellEntry)
+                return new PositionedCell(cell.getRowIndex(), cell.getColumnIndex(), cellEntry);
+        }
+    }
+
+    @Override
+    public void close() {}
+}
@@ -0,0 +1,26 @@
+package io.github.michalbrylka.excelassertion.assertions;
+
+import io.github.michalbrylka.excelassertion.io.CellEntry;
+import io.github.michalbrylka.excelassertion.io.StreamingWorkbookReader;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Pulls cells of a sheet in row-major order
+ */
+interface SheetCursor extends AutoCloseable {
+    /**
+     * @return next cell or {@code null} when there are no more cells
+     */
+    @Nullable PositionedCell next();
+
+    @Override
+    void close();
+
+    static SheetCursor of(Sheet sheet) {return new RowsSheetCursor(sheet);}
+
+    static SheetCursor of(StreamingWorkbookReader reader, int sheetIndex) {return new StreamingSheetCursor(reader, sheetIndex);}
+
+    record PositionedCell(int rowIndex, int columnIndex, @NotNull CellEntry<?> cellEntry) {}
+}
@@ -0,0 +1,125 @@
+package io.github.michalbrylka.excelassertion.assertions;
+
+import io.github.michalbrylka.excelassertion.io.CellEntry;
+import io.github.michalbrylka.excelassertion.io.CellEntryHandler;
+import io.github.michalbrylka.excelassertion.io.StreamingWorkbookReader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cursor over sheet read by streaming reader on a virtual thread, cells are handed over in batches.
+ * Producer is stopped by flag, not by interrupt - interrupted thread would close channel of the shared package.
+ */
+final class StreamingSheetCursor implements SheetCursor {
+    private static final int BATCH_SIZE = 1024;
+    private static final long OFFER_TIMEOUT_MILLIS = 50;
+    private static final List<PositionedCell> END = new ArrayList<>(0);
+
+    private final BlockingQueue<List<PositionedCell>> batches = new ArrayBlockingQueue<>(4);
+    private final Thread producer;
+    private volatile boolean closed;
+    private Exception failure;
+    private Iterator<PositionedCell> batch = Collections.emptyIterator();
+    private boolean finished;
+
+    StreamingSheetCursor(StreamingWorkbookReader reader, int sheetIndex) {
+        this.producer = Thread.ofVirtual().start(() -> produce(reader, sheetIndex));
+    }
+
+    private void produce(StreamingWorkbookReader reader, int sheetIndex) {
+        var handler = new CellEntryHandler() {
+            private List<PositionedCell> cells = new ArrayList<>(BATCH_SIZE);
+            private int rowIndex;
+            private int columnIndex;
+
+            @Override
+            public boolean acceptCell(int rowIndex, int columnIndex) {
+                this.rowIndex = rowIndex;
+                this.columnIndex = columnIndex;
+                return true;
+            }
+
+            @Override
+            public void cell(@NotNull CellEntry<?> cellEntry) {
+                if (closed) throw new CancellationException("Cursor closed");
+                cells.add(new PositionedCell(rowIndex, columnIndex, cellEntry));
+                if (cells.size() == BATCH_SIZE) flush();
+            }
+
+            void flush() {
+                if (cells.isEmpty()) return;
+                put(cells);
+                cells = new ArrayList<>(BATCH_SIZE);
+            }
+        };
+
+        try {
+            reader.readSheet(sheetIndex, handler);
+            handler.flush();
+        } catch (CancellationException e) {
+            return; // cursor closed before the end of sheet
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+        }
+        try {
+            put(END);
+        } catch (CancellationException ignored) {
+            // cursor closed, nobody waits for the end
+        }
+    }
+
+    private void put(List<PositionedCell> cells) {
+        try {
+            while (!batches.offer(cells, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS))
+                if (closed) throw new CancellationException("Cursor closed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while reading sheet");
+        }
+    }
+
+    @Override
+    public @Nullable PositionedCell next() {
+        while (!batch.hasNext()) {
+            if (finished) return null;
+            List<PositionedCell> cells;
+            try {
+                cells = batches.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while reading sheet");
+            }
+            if (cells == END) {
+                finished = true;
+                switch (failure) {
+                    case null -> {}
+                    case IOException e -> throw new UncheckedIOException(e);
+                    case RuntimeException e -> throw e;
+                    default -> throw new IllegalStateException(failure);
+                }
+                return null;
+            }
+            batch = cells.iterator();
+        }
+        return batch.next();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        batches.clear(); // let blocked producer notice the flag without waiting for timeout
+        try {
+            producer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package io.github.michalbrylka.excelassertion.assertions.cell;
 
+import io.github.michalbrylka.excelassertion.io.CellEntry;
+import io.github.michalbrylka.excelassertion.io.BooleanCellEntry;
 import org.apache.poi.ss.usermodel.*;
 import org.assertj.core.api.SoftAssertions;
 
@@ -13,6 +15,14 @@ public final class BooleanCellAssertion extends ValueCellAssertion<Boolean, Bool
         this.expectedValue = expectedValue;
     }
 
+    public BooleanCellAssertion(int rowIndex, int columnIndex, boolean expectedValue) {
+        super(rowIndex, columnIndex);
+        this.expectedValue = expectedValue;
+    }
+
+    @Override
+    protected boolean test(Boolean actualValue) {return actualValue != null && actualValue == expectedValue;}
+
     @Override
     protected void assertOnValue(Boolean actualValue, SoftAssertions softly) {
         softly.assertThat(actualValue)
@@ -36,7 +46,12 @@ public final class BooleanCellAssertion extends ValueCellAssertion<Boolean, Bool
     }
 
     @Override
-    protected Boolean fromCellValue(CellValue cellValue) {
+    protected Boolean fromCellValue(CellValue cellValue, boolean date1904) {
         return cellValue.getBooleanValue();
     }
+
+    @Override
+    protected Boolean fromCellEntry(CellEntry<?> cellEntry, boolean date1904) {
+        return cellEntry instanceof BooleanCellEntry booleanEntry ? booleanEntry.value() : null;
+    }
 }
@@ -1,18 +1,43 @@
 package io.github.michalbrylka.excelassertion.assertions.cell;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.*;
+import io.github.michalbrylka.excelassertion.assertions.number.NumberAssertion;
+import io.github.michalbrylka.excelassertion.io.CellEntry;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellReference;
 import org.assertj.core.api.SoftAssertions;
 import io.github.michalbrylka.excelassertion.assertions.text.EqualsTextAssertion;
 import io.github.michalbrylka.excelassertion.assertions.text.TextAssertion;
 import org.assertj.core.api.StringAssert;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
 
 //@lombok.Getter(lombok.AccessLevel.PACKAGE)
 @lombok.EqualsAndHashCode(callSuper = false)
+@com.fasterxml.jackson.databind.annotation.JsonSerialize(using = CellAssertion.CellAssertionSerializer.class)
+@com.fasterxml.jackson.databind.annotation.JsonDeserialize(using = CellAssertion.CellAssertionDeserializer.class)
 public sealed abstract class CellAssertion<TAssertion extends CellAssertion<TAssertion>>
         permits SimpleCellAssertion, ValueCellAssertion {
 
+    /**
+     * Format reported for cells absent from the sheet, same as for newly created cell
+     */
+    static final String ABSENT_CELL_FORMAT = "General";
+
+    /**
+     * Address as given or formatted on first use for assertions created from indices - cell is located by indices only
+     */
+    @lombok.EqualsAndHashCode.Exclude
+    private String cellAddress;
     @lombok.Getter
-    protected final String cellAddress;
+    private final int rowIndex;
+    @lombok.Getter
+    private final int columnIndex;
     protected TextAssertion<?> expectedFormat;
     protected FormatCategory expectedFormatCategory;
     protected TextAssertion<?> expectedComment;
@@ -20,7 +45,29 @@ public sealed abstract class CellAssertion<TAssertion extends CellAssertion<TAss
     protected CellAssertion(String cellAddress) {
         if (cellAddress == null || cellAddress.isBlank())
             throw new IllegalArgumentException("cellAddress cannot be null nor blank");
+        var ref = new CellReference(cellAddress);
+        if (ref.getRow() < 0 || ref.getCol() < 0)
+            throw new IllegalArgumentException("'%s' is not a valid cell address".formatted(cellAddress));
         this.cellAddress = cellAddress;
+        this.rowIndex = ref.getRow();
+        this.columnIndex = ref.getCol();
+    }
+
+    /**
+     * @param rowIndex    0-based row index
+     * @param columnIndex 0-based column index
+     */
+    protected CellAssertion(int rowIndex, int columnIndex) {
+        if (rowIndex < 0 || columnIndex < 0)
+            throw new IllegalArgumentException("cell indices cannot be negative: row %d, column %d".formatted(rowIndex, columnIndex));
+        this.rowIndex = rowIndex;
+        this.columnIndex = columnIndex;
+    }
+
+    public String getCellAddress() {
+        if (cellAddress == null)
+            cellAddress = new CellReference(rowIndex, columnIndex).formatAsString(false);
+        return cellAddress;
     }
 
     @Override
@@ -58,9 +105,10 @@ public sealed abstract class CellAssertion<TAssertion extends CellAssertion<TAss
         return self();
     }
 
+    @lombok.Getter
     private String sheetName;
 
-    String getFullCellAddress() {return "%s!%s".formatted(sheetName, cellAddress);}
+    String getFullCellAddress() {return "%s!%s".formatted(sheetName, getCellAddress());}
 
     public TAssertion withSheetName(String sheetName) {
         this.sheetName = sheetName;
@@ -74,63 +122,282 @@ public sealed abstract class CellAssertion<TAssertion extends CellAssertion<TAss
     }
 
 
-    public final void applyAssert(Cell cell, SoftAssertions softly) {
-        if (expectedFormat != null) {
-            var softAssert = softly.assertThat(getCellFormat(cell))
-                    .as(() -> "cell format at %s to %s".formatted(getFullCellAddress(), expectedFormat.toString()));
-            expectedFormat.apply(softAssert);
-        }
-        if (expectedFormatCategory != null) {
-            var actual = detectFormatCategory(cell);
-            softly.assertThat(actual)
-                    .as(() -> "expected format category at %s".formatted(getFullCellAddress()))
-                    .isEqualTo(expectedFormatCategory);
-        }
+    public final void applyAssert(@NotNull Cell cell, SoftAssertions softly) {
+        applyAssert(cell, new EvaluationContext(cell.getSheet().getWorkbook()), softly);
+    }
 
-        if (expectedComment != null) {
-            String comment = getCellComment(cell);
-            StringAssert softAssert = softly.assertThat(getCellComment(cell));
-            if (comment != null) {
-                softAssert.as(() -> "cell comment at %s to %s".formatted(getFullCellAddress(), expectedComment.toString()));
-                expectedComment.apply(softAssert);
-            } else
-                softAssert.withFailMessage(() -> "comment at %s is expected to exist".formatted(getFullCellAddress()))
-                        .isNotNull();
-        }
+    /**
+     * Applies assertion on cell of workbook described by given context, reusing its formula evaluator.
+     *
+     * @param cell cell to check or {@code null} when it is absent from the sheet - such cell is treated as blank with default format
+     */
+    public final void applyAssert(@Nullable Cell cell, EvaluationContext context, SoftAssertions softly) {
+        if (expectedFormat != null)
+            assertFormat(getCellFormat(cell, context), softly);
+
+        if (expectedFormatCategory != null)
+            assertFormatCategory(detectFormatCategory(cell, context), softly);
+
+        if (expectedComment != null)
+            assertComment(cell != null ? getCellComment(cell, context) : getAbsentCellComment(context), softly);
+
+        applyAssertCore(cell, context, softly);
+    }
+
+    /**
+     * Applies assertion on cell read by streaming reader from workbook using 1900 date system. Formula cells are asserted on their cached results.
+     */
+    public final void applyAssert(CellEntry<?> cellEntry, SoftAssertions softly) {applyAssert(cellEntry, false, softly);}
+
+    /**
+     * Applies assertion on cell read by streaming reader. Formula cells are asserted on their cached results.
+     *
+     * @param date1904 whether the cell's workbook counts dates from 1904, see {@link io.github.michalbrylka.excelassertion.io.StreamingWorkbookReader#isDate1904()}
+     */
+    public final void applyAssert(CellEntry<?> cellEntry, boolean date1904, SoftAssertions softly) {
+        if (expectedFormat != null)
+            assertFormat(cellEntry.format(), softly);
+
+        if (expectedFormatCategory != null)
+            assertFormatCategory(FormatCategory.of(cellEntry.format()), softly);
+
+        if (expectedComment != null)
+            assertComment(cellEntry.comment(), softly);
+
+        applyAssertCore(cellEntry, date1904, softly);
+    }
+
+    /**
+     * Checks cell without reporting - {@code true} guarantees that {@link #applyAssert(Cell, EvaluationContext, SoftAssertions)} passes for the same cell
+     */
+    final boolean test(@Nullable Cell cell, EvaluationContext context) {
+        return (expectedFormat == null || expectedFormat.test(getCellFormat(cell, context)))
+               && (expectedFormatCategory == null || expectedFormatCategory == detectFormatCategory(cell, context))
+               && (expectedComment == null || testComment(cell != null ? getCellComment(cell, context) : getAbsentCellComment(context)))
+               && testCore(cell, context);
+    }
+
+    /**
+     * Checks entry without reporting - {@code true} guarantees that {@link #applyAssert(CellEntry, boolean, SoftAssertions)} passes for the same entry
+     */
+    final boolean test(CellEntry<?> cellEntry, boolean date1904) {
+        return (expectedFormat == null || expectedFormat.test(cellEntry.format()))
+               && (expectedFormatCategory == null || expectedFormatCategory == FormatCategory.of(cellEntry.format()))
+               && (expectedComment == null || testComment(cellEntry.comment()))
+               && testCore(cellEntry, date1904);
+    }
+
+    /**
+     * Final verdict of {@link #applyAssert(Cell, EvaluationContext, SoftAssertions)} without reporting.
+     * Failing {@link #test(Cell, EvaluationContext)} only means the assertion has to be applied to decide, so it is confirmed that way.
+     */
+    final boolean passes(@Nullable Cell cell, EvaluationContext context) {
+        if (test(cell, context)) return true;
+        var probe = new SoftAssertions();
+        applyAssert(cell, context, probe);
+        return probe.wasSuccess();
+    }
 
-        applyAssertCore(cell, softly);
+    /**
+     * Final verdict of {@link #applyAssert(CellEntry, boolean, SoftAssertions)} without reporting, see {@link #passes(Cell, EvaluationContext)}
+     */
+    final boolean passes(CellEntry<?> cellEntry, boolean date1904) {
+        if (test(cellEntry, date1904)) return true;
+        var probe = new SoftAssertions();
+        applyAssert(cellEntry, date1904, probe);
+        return probe.wasSuccess();
     }
 
-    protected abstract void applyAssertCore(Cell cell, SoftAssertions softly);
+    private boolean testComment(String comment) {return comment != null && expectedComment.test(comment);}
 
-    private static String getCellFormat(Cell cell) {
-        return cell != null && cell.getCellStyle() instanceof CellStyle style && style.getDataFormatString() instanceof String format
-                ? format
+    private void assertFormat(String format, SoftAssertions softly) {
+        if (expectedFormat.test(format)) return;
+
+        var softAssert = softly.assertThat(format)
+                .as(() -> "cell format at %s to %s".formatted(getFullCellAddress(), expectedFormat.toString()));
+        expectedFormat.apply(softAssert);
+    }
+
+    private void assertFormatCategory(FormatCategory actual, SoftAssertions softly) {
+        if (actual == expectedFormatCategory) return;
+
+        softly.assertThat(actual)
+                .as(() -> "expected format category at %s".formatted(getFullCellAddress()))
+                .isEqualTo(expectedFormatCategory);
+    }
+
+    private void assertComment(String comment, SoftAssertions softly) {
+        if (testComment(comment)) return;
+
+        StringAssert softAssert = softly.assertThat(comment);
+        if (comment != null) {
+            softAssert.as(() -> "cell comment at %s to %s".formatted(getFullCellAddress(), expectedComment.toString()));
+            expectedComment.apply(softAssert);
+        } else
+            softAssert.withFailMessage(() -> "comment at %s is expected to exist".formatted(getFullCellAddress()))
+                    .isNotNull();
+    }
+
+    /**
+     * @param cell cell to check or {@code null} when it is absent from the sheet
+     */
+    protected abstract void applyAssertCore(@Nullable Cell cell, EvaluationContext context, SoftAssertions softly);
+
+    /**
+     * @param date1904 whether dates of the entry's workbook are counted from 1904
+     */
+    protected abstract void applyAssertCore(CellEntry<?> cellEntry, boolean date1904, SoftAssertions softly);
+
+    /**
+     * Same check as {@link #applyAssertCore(Cell, EvaluationContext, SoftAssertions)} without reporting
+     */
+    protected abstract boolean testCore(@Nullable Cell cell, EvaluationContext context);
+
+    /**
+     * Same check as {@link #applyAssertCore(CellEntry, boolean, SoftAssertions)} without reporting
+     */
+    protected abstract boolean testCore(CellEntry<?> cellEntry, boolean date1904);
+
+    private static String getCellFormat(Cell cell, EvaluationContext context) {
+        if (cell == null) return ABSENT_CELL_FORMAT;
+        return cell.getCellStyle() instanceof CellStyle style
+                ? context.getDataFormat(style).formatString()
                 : null;
     }
 
-    private static String getCellComment(Cell cell) {
-        return cell != null && cell.getCellComment() instanceof Comment comment &&
-               comment.getString() instanceof RichTextString richTextString &&
-               richTextString.getString() instanceof String commentText
-                ? commentText
+    private static String getCellComment(Cell cell, EvaluationContext context) {
+        return context.getComments(cell.getSheet()).at(cell.getRowIndex(), cell.getColumnIndex());
+    }
+
+    /**
+     * Comment can be anchored to address without a cell
+     */
+    private String getAbsentCellComment(EvaluationContext context) {
+        return sheetName != null && context.getWorkbook().getSheet(sheetName) instanceof Sheet sheet
+                ? context.getComments(sheet).at(rowIndex, columnIndex)
                 : null;
     }
 
-    private static FormatCategory detectFormatCategory(Cell cell) {
-        if (getCellFormat(cell) instanceof String format) {
-            format = format.toLowerCase(java.util.Locale.ROOT);
+    private static FormatCategory detectFormatCategory(Cell cell, EvaluationContext context) {
+        if (cell == null) return FormatCategory.GENERAL;
+        return cell.getCellStyle() instanceof CellStyle style
+                ? context.getFormatCategory(style)
+                : FormatCategory.OTHER;
+    }
+
+    private static final String SHEET = "sheet";
+    private static final String AT = "at";
+    private static final String TEXT = "text";
+    private static final String NUMBER = "number";
+    private static final String BOOLEAN = "boolean";
+    private static final String ERROR = "error";
+    private static final String FORMULA = "formula";
+    private static final String EMPTY = "empty";
+    private static final String DATE_TIME = "dateTime";
+    private static final String FORMAT = "format";
+    private static final String COMMENT = "comment";
+    private static final String FORMAT_CATEGORY = "formatCategory";
+
+    /**
+     * Writes assertion as object with address and at most one value check, i.e. {@code {"sheet":"Numbers","at":"A1","number":{"gt":1.0},"format":{"eq":"0.00"}}}.
+     * Assertion without value check is written for {@link SimpleCellAssertion}, sheet is written only when bound.
+     */
+    static class CellAssertionSerializer extends JsonSerializer<CellAssertion<?>> {
+        @Override
+        public void serialize(CellAssertion<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (value == null) {
+                gen.writeNull();
+                return;
+            }
+
+            gen.writeStartObject();
+            if (value.sheetName != null) gen.writeStringField(SHEET, value.sheetName);
+            gen.writeStringField(AT, value.getCellAddress());
+
+            switch (value) {
+                case TextCellAssertion text -> provider.defaultSerializeField(TEXT, text.getAssertion(), gen);
+                case NumberCellAssertion number -> provider.defaultSerializeField(NUMBER, number.getAssertion(), gen);
+                case BooleanCellAssertion bool -> gen.writeBooleanField(BOOLEAN, bool.isExpectedValue());
+                case ErrorTextCellAssertion error -> provider.defaultSerializeField(ERROR, error.getAssertion(), gen);
+                case FormulaTextCellAssertion formula -> provider.defaultSerializeField(FORMULA, formula.getAssertion(), gen);
+                case DateTimeCellAssertion dateTime -> {
+                    gen.writeFieldName(DATE_TIME);
+                    dateTime.writeChecks(gen);
+                }
+                case EmptyCellAssertion ignored -> gen.writeBooleanField(EMPTY, true);
+                case SimpleCellAssertion ignored -> {}
+                default -> throw JsonMappingException.from(gen, "Unsupported CellAssertion subclass: " + value.getClass());
+            }
+
+            if (value.expectedFormat != null) provider.defaultSerializeField(FORMAT, value.expectedFormat, gen);
+            if (value.expectedComment != null) provider.defaultSerializeField(COMMENT, value.expectedComment, gen);
+            if (value.expectedFormatCategory != null) gen.writeStringField(FORMAT_CATEGORY, value.expectedFormatCategory.name());
+
+            gen.writeEndObject();
+        }
+    }
+
+    static class CellAssertionDeserializer extends JsonDeserializer<CellAssertion<?>> {
+        @Override
+        public CellAssertion<?> deserialize(JsonParser p, DeserializationContext ctx) throws IOException {
+            if (p.currentToken() != JsonToken.START_OBJECT)
+                throw JsonMappingException.from(p, "Expected start of object");
+
+            String sheetName = null;
+            String address = null;
+            String check = null;
+            Object expected = null;
+            TextAssertion<?> format = null, comment = null;
+            FormatCategory formatCategory = null;
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case SHEET -> sheetName = p.getValueAsString();
+                    case AT -> address = p.getValueAsString();
+                    case FORMAT -> format = ctx.readValue(p, TextAssertion.class);
+                    case COMMENT -> comment = ctx.readValue(p, TextAssertion.class);
+                    case FORMAT_CATEGORY -> formatCategory = FormatCategory.valueOf(p.getValueAsString());
+                    case TEXT, NUMBER, BOOLEAN, ERROR, FORMULA, EMPTY, DATE_TIME -> {
+                        if (check != null)
+                            throw JsonMappingException.from(p, "Only one value check is allowed, found '%s' and '%s'".formatted(check, field));
+                        check = field;
+                        expected = switch (field) {
+                            case NUMBER -> ctx.readValue(p, NumberAssertion.class);
+                            case BOOLEAN -> p.getBooleanValue();
+                            case EMPTY -> {
+                                if (!p.getBooleanValue())
+                                    throw JsonMappingException.from(p, "'%s' can only be true, omit it to only check that cell exists".formatted(EMPTY));
+                                yield true;
+                            }
+                            case DATE_TIME -> ctx.readTree(p);
+                            default -> ctx.readValue(p, TextAssertion.class);
+                        };
+                    }
+                    default -> throw JsonMappingException.from(p, "Unknown field: " + field);
+                }
+            }
+
+            if (address == null)
+                throw JsonMappingException.from(p, "Cell address '%s' is required".formatted(AT));
 
-            if (format.equals("general")) return FormatCategory.GENERAL;
-            if (format.contains("%")) return FormatCategory.PERCENTAGE;
-            if (DateUtil.isADateFormat(cell.getCellStyle().getDataFormat(), format)) return FormatCategory.DATE;
-            if (format.contains("h") || format.contains("s") || format.contains("am/pm")) return FormatCategory.TIME;
-            if (format.contains("#,##0") || format.contains("currency")) return FormatCategory.CURRENCY;
-            if (format.contains("_($") || format.contains("accounting")) return FormatCategory.ACCOUNTING;
-            if (format.contains("e+")) return FormatCategory.SCIENTIFIC;
-            if (format.contains("?/")) return FormatCategory.FRACTION;
-            if (format.contains("@")) return FormatCategory.TEXT;
+            CellAssertion<?> result = switch (check) {
+                case null -> new SimpleCellAssertion(address);
+                case TEXT -> new TextCellAssertion(address, (TextAssertion<?>) expected);
+                case NUMBER -> new NumberCellAssertion(address, (NumberAssertion) expected);
+                case BOOLEAN -> new BooleanCellAssertion(address, (Boolean) expected);
+                case ERROR -> new ErrorTextCellAssertion(address, (TextAssertion<?>) expected);
+                case FORMULA -> new FormulaTextCellAssertion(address, (TextAssertion<?>) expected);
+                case EMPTY -> new EmptyCellAssertion(address);
+                case DATE_TIME -> DateTimeCellAssertion.readChecks(address, (JsonNode) expected, p);
+                default -> throw JsonMappingException.from(p, "Unhandled value check: " + check);
+            };
+            result.expectedFormat = format;
+            result.expectedComment = comment;
+            result.expectedFormatCategory = formatCategory;
+            result.sheetName = sheetName;
+            return result;
         }
-        return FormatCategory.OTHER;
     }
-}
\ No newline at end of file
+}
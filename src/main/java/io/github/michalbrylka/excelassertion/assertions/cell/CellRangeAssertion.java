@@ -0,0 +1,251 @@
+package io.github.michalbrylka.excelassertion.assertions.cell;
+
+import io.github.michalbrylka.excelassertion.assertions.number.NumberAssertion;
+import io.github.michalbrylka.excelassertion.io.CellEntry;
+import io.github.michalbrylka.excelassertion.io.NoValueCellEntry;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.assertj.core.api.SoftAssertions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Checks every cell of a rectangular range with one shared cell assertion. Only physical rows and cells are visited,
+ * cells absent from the sheet are checked once and accounted for in bulk.
+ * Failing cells are reported in a single failure, consecutive ones merged into ranges.
+ * <p>
+ * Numeric cells of number checks are gathered into chunks in row-major order, the order in which rows are read,
+ * and tested with {@link NumberAssertion#testAll} in bulk - for single column ranges that is one column at a time.
+ */
+@lombok.EqualsAndHashCode
+public final class CellRangeAssertion {
+    /**
+     * Number of failing ranges listed in failure message, the rest is only counted
+     */
+    static final int MAX_REPORTED_RANGES = 20;
+
+    /**
+     * Number of numeric values gathered before they are tested in bulk
+     */
+    static final int CHUNK_SIZE = 4096;
+
+    @lombok.Getter
+    private final @NotNull CellRangeAddress range;
+    private final @NotNull ValueCellAssertion<?, ?> cellAssertion;
+    private final @NotNull String description;
+    private String sheetName;
+
+    /**
+     * @param cellAssertion assertion checked on each cell of the range, its own address is not used
+     * @param description   description of the check used in failure message
+     */
+    public CellRangeAssertion(@NotNull CellRangeAddress range, @NotNull ValueCellAssertion<?, ?> cellAssertion, @NotNull String description) {
+        this.range = range;
+        this.cellAssertion = cellAssertion;
+        this.description = description;
+    }
+
+    public CellRangeAssertion withSheetName(String sheetName) {
+        this.sheetName = sheetName;
+        cellAssertion.withSheetName(sheetName);
+        return this;
+    }
+
+    /**
+     * Number assertion when cells can be tested on their numeric values alone, {@code null} otherwise
+     */
+    private @Nullable NumberAssertion getBulkNumberAssertion() {
+        return cellAssertion instanceof NumberCellAssertion numberCellAssertion
+               && cellAssertion.expectedFormat == null && cellAssertion.expectedFormatCategory == null && cellAssertion.expectedComment == null
+                ? numberCellAssertion.getAssertion()
+                : null;
+    }
+
+    public long getCellCount() {return (long) (range.getLastRow() - range.getFirstRow() + 1) * getWidth();}
+
+    private int getWidth() {return range.getLastColumn() - range.getFirstColumn() + 1;}
+
+    public boolean contains(int rowIndex, int columnIndex) {return range.isInRange(rowIndex, columnIndex);}
+
+    /**
+     * Walks physical rows of the sheet once
+     */
+    public void applyAssert(@NotNull Sheet sheet, EvaluationContext context, SoftAssertions softly) {
+        var walk = new Walk(cellAssertion.passes((Cell) null, context), context.isDate1904());
+        for (Row row : sheet) {
+            int rowIndex = row.getRowNum();
+            if (rowIndex < range.getFirstRow()) continue;
+            if (rowIndex > range.getLastRow()) break;
+
+            for (int columnIndex = range.getFirstColumn(); columnIndex <= range.getLastColumn(); columnIndex++)
+                if (row.getCell(columnIndex) instanceof Cell cell) {
+                    if (walk.numberAssertion != null && cell.getCellType() == CellType.NUMERIC)
+                        walk.acceptNumber(rowIndex, columnIndex, cell.getNumericCellValue());
+                    else
+                        walk.accept(rowIndex, columnIndex, cellAssertion.passes(cell, context));
+                }
+        }
+        walk.finish(softly);
+    }
+
+    /**
+     * Starts check of cells read by streaming reader, entries have to be passed in row-major order
+     *
+     * @param date1904 whether dates of the read workbook are counted from 1904
+     */
+    public Walk startWalk(boolean date1904) {
+        return new Walk(cellAssertion.passes(new NoValueCellEntry(cellAssertion.getCellAddress(), CellAssertion.ABSENT_CELL_FORMAT), date1904), date1904);
+    }
+
+    @Override
+    public String toString() {return "(Cells %s!%s %s)".formatted(sheetName, range.formatAsString(), description);}
+
+    /**
+     * Single pass over cells of the range. Cells skipped between accepted ones are treated as absent.
+     */
+    public final class Walk {
+        private final boolean absentCellPasses;
+        private final boolean date1904;
+        private final @Nullable NumberAssertion numberAssertion;
+        private double[] chunkValues;
+        private long[] chunkPositions;
+        private boolean[] chunkFailed;
+        private int chunkLength;
+        private final StringBuilder reportedRanges = new StringBuilder();
+        private int reportedRangeCount;
+        private long failedCount;
+        private long nextPosition;
+        private long failedFrom = -1;
+        private long failedTo = -1;
+
+        private Walk(boolean absentCellPasses, boolean date1904) {
+            this.absentCellPasses = absentCellPasses;
+            this.date1904 = date1904;
+            this.numberAssertion = getBulkNumberAssertion();
+        }
+
+        public void accept(int rowIndex, int columnIndex, @NotNull CellEntry<?> cellEntry) {
+            if (numberAssertion != null && NumberCellAssertion.isNumeric(cellEntry))
+                acceptNumber(rowIndex, columnIndex, NumberCellAssertion.doubleFromCellEntry(cellEntry, date1904));
+            else
+                accept(rowIndex, columnIndex, cellAssertion.passes(cellEntry, date1904));
+        }
+
+        private void accept(int rowIndex, int columnIndex, boolean passed) {
+            flushChunk();
+            accept(toPosition(rowIndex, columnIndex), passed);
+        }
+
+        private void acceptNumber(int rowIndex, int columnIndex, double value) {
+            if (chunkValues == null) {
+                int chunkSize = (int) Math.min(CHUNK_SIZE, getCellCount());
+                chunkValues = new double[chunkSize];
+                chunkPositions = new long[chunkSize];
+                chunkFailed = new boolean[chunkSize];
+            }
+            chunkValues[chunkLength] = value;
+            chunkPositions[chunkLength++] = toPosition(rowIndex, columnIndex);
+            if (chunkLength == chunkValues.length)
+                flushChunk();
+        }
+
+        /**
+         * Tests gathered values in bulk, failing positions are only looked at when there are any.
+         * Values failing the test are confirmed by applying the assertion, as the test does not decide corner cases.
+         */
+        private void flushChunk() {
+            if (chunkLength == 0) return;
+            int length = chunkLength;
+            chunkLength = 0;
+
+            int failedCount = numberAssertion.testAll(chunkValues, length, chunkFailed);
+            for (int i = 0; i < length; i++)
+                accept(chunkPositions[i], failedCount == 0 || !chunkFailed[i] || passesOnApply(chunkValues[i]));
+        }
+
+        private boolean passesOnApply(double value) {
+            var probe = new SoftAssertions();
+            numberAssertion.apply(probe.assertThat(value));
+            return probe.wasSuccess();
+        }
+
+        private void accept(long position, boolean passed) {
+            if (position < nextPosition)
+                throw new IllegalStateException("Cell %s is out of row-major order".formatted(toAddress(position)));
+
+            if (!absentCellPasses && position > nextPosition)
+                fail(nextPosition, position - 1);
+            if (!passed)
+                fail(position, position);
+            nextPosition = position + 1;
+        }
+
+        public void finish(SoftAssertions softly) {
+            flushChunk();
+            long cellCount = getCellCount();
+            if (!absentCellPasses && cellCount > nextPosition)
+                fail(nextPosition, cellCount - 1);
+            nextPosition = cellCount;
+            flush();
+
+            if (failedCount > 0)
+                softly.fail("%s: %d of %d cells in %s!%s failed check '%s': %s%s".formatted(
+                        CellRangeAssertion.class.getSimpleName(), failedCount, cellCount, sheetName, range.formatAsString(), description, reportedRanges,
+                        reportedRangeCount > MAX_REPORTED_RANGES ? " and %d more ranges".formatted(reportedRangeCount - MAX_REPORTED_RANGES) : ""));
+        }
+
+        private void fail(long from, long to) {
+            failedCount += to - from + 1;
+            if (failedTo >= 0 && from == failedTo + 1) {
+                failedTo = to;
+                return;
+            }
+            flush();
+            failedFrom = from;
+            failedTo = to;
+        }
+
+        /**
+         * Run of consecutive positions is reported as rectangles - partial first row, full rows and partial last row
+         */
+        private void flush() {
+            if (failedTo < 0) return;
+            long from = failedFrom, to = failedTo;
+            failedFrom = failedTo = -1;
+
+            int width = getWidth();
+            if (from % width != 0 || to - from + 1 < width) {
+                long firstRowEnd = Math.min(to, from / width * width + width - 1);
+                report(from, firstRowEnd);
+                from = firstRowEnd + 1;
+            }
+            long fullRowsEnd = (to + 1) / width * width - 1;
+            if (fullRowsEnd >= from) {
+                report(from, fullRowsEnd);
+                from = fullRowsEnd + 1;
+            }
+            if (from <= to)
+                report(from, to);
+        }
+
+        private void report(long from, long to) {
+            if (reportedRangeCount++ >= MAX_REPORTED_RANGES) return;
+            if (!reportedRanges.isEmpty()) reportedRanges.append(", ");
+            reportedRanges.append(toAddress(from));
+            if (to > from) reportedRanges.append(':').append(toAddress(to));
+        }
+    }
+
+    private long toPosition(int rowIndex, int columnIndex) {
+        return (long) (rowIndex - range.getFirstRow()) * getWidth() + columnIndex - range.getFirstColumn();
+    }
+
+    private String toAddress(long position) {
+        int width = getWidth();
+        return new CellReference((int) (range.getFirstRow() + position / width), (int) (range.getFirstColumn() + position % width)).formatAsString(false);
+    }
+}
@@ -1,5 +1,13 @@
 package io.github.michalbrylka.excelassertion.assertions.cell;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.michalbrylka.excelassertion.io.CellEntry;
+import io.github.michalbrylka.excelassertion.io.DateCellEntry;
+import io.github.michalbrylka.excelassertion.io.NumberCellEntry;
+import io.github.michalbrylka.excelassertion.io.PrimitiveNumberCellEntry;
 import org.apache.poi.ss.usermodel.*;
 import org.assertj.core.api.LocalDateTimeAssert;
 import org.assertj.core.api.SoftAssertions;
@@ -7,6 +15,7 @@ import org.assertj.core.data.TemporalUnitOffset;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 
 
@@ -28,6 +37,10 @@ public final class DateTimeCellAssertion extends ValueCellAssertion<LocalDateTim
         super(cellAddress);
     }
 
+    public DateTimeCellAssertion(int rowIndex, int columnIndex) {
+        super(rowIndex, columnIndex);
+    }
+
     public DateTimeCellAssertion isBefore(@NotNull LocalDateTime dateTime) {
         this.isBefore = dateTime;
         return this;
@@ -78,6 +91,21 @@ public final class DateTimeCellAssertion extends ValueCellAssertion<LocalDateTim
         return this;
     }
 
+    @Override
+    protected boolean test(LocalDateTime actualValue) {
+        return actualValue != null &&
+               (isBefore == null || actualValue.isBefore(isBefore)) &&
+               (isAfter == null || actualValue.isAfter(isAfter)) &&
+               (isEqualTo == null || actualValue.isEqual(isEqualTo)) &&
+               (isEqualToWithTolerance == null || !isEqualToWithTolerance.offset.isBeyondOffset(actualValue, isEqualToWithTolerance.expected)) &&
+               (hasYear == null || actualValue.getYear() == hasYear) &&
+               (hasMonthValue == null || actualValue.getMonthValue() == hasMonthValue) &&
+               (hasDayOfMonth == null || actualValue.getDayOfMonth() == hasDayOfMonth) &&
+               (hasHour == null || actualValue.getHour() == hasHour) &&
+               (hasMinute == null || actualValue.getMinute() == hasMinute) &&
+               (hasSecond == null || actualValue.getSecond() == hasSecond);
+    }
+
     @Override
     protected void assertOnValue(LocalDateTime actualValue, SoftAssertions softly) {
         LocalDateTimeAssert softAssert = softly.assertThat(actualValue)
@@ -121,10 +149,73 @@ public final class DateTimeCellAssertion extends ValueCellAssertion<LocalDateTim
     }
 
     @Override
-    protected LocalDateTime fromCellValue(CellValue cellValue) {
+    protected LocalDateTime fromCellValue(CellValue cellValue, boolean date1904) {
         // CellValue only supports numeric, so treat as Excel date serial
         double excelDate = cellValue.getNumberValue();
-        return DateUtil.getLocalDateTime(excelDate);
+        return DateUtil.getLocalDateTime(excelDate, date1904);
+    }
+
+    @Override
+    protected LocalDateTime fromCellEntry(CellEntry<?> cellEntry, boolean date1904) {
+        return switch (cellEntry) {
+            case DateCellEntry dateEntry -> dateEntry.value();
+            case NumberCellEntry numberEntry -> DateUtil.getLocalDateTime(numberEntry.doubleValue(), date1904);
+            case PrimitiveNumberCellEntry numberEntry -> DateUtil.getLocalDateTime(numberEntry.doubleValue(), date1904);
+            default -> null;
+        };
+    }
+
+    private static final String BEFORE = "before";
+    private static final String AFTER = "after";
+    private static final String EQUAL_TO = "eq";
+    private static final String YEAR = "year";
+    private static final String MONTH = "month";
+    private static final String DAY = "day";
+    private static final String HOUR = "hour";
+    private static final String MINUTE = "minute";
+    private static final String SECOND = "second";
+
+    /**
+     * Writes checks as object, i.e. {@code {"after":"2024-01-01T00:00","year":2024}}. Tolerance offset of AssertJ cannot be read back, so it is rejected.
+     */
+    void writeChecks(JsonGenerator gen) throws IOException {
+        if (isEqualToWithTolerance != null)
+            throw JsonMappingException.from(gen, "Date-time check with tolerance at %s cannot be written".formatted(getFullCellAddress()));
+
+        gen.writeStartObject();
+        if (isBefore != null) gen.writeStringField(BEFORE, isBefore.toString());
+        if (isAfter != null) gen.writeStringField(AFTER, isAfter.toString());
+        if (isEqualTo != null) gen.writeStringField(EQUAL_TO, isEqualTo.toString());
+        if (hasYear != null) gen.writeNumberField(YEAR, hasYear);
+        if (hasMonthValue != null) gen.writeNumberField(MONTH, hasMonthValue);
+        if (hasDayOfMonth != null) gen.writeNumberField(DAY, hasDayOfMonth);
+        if (hasHour != null) gen.writeNumberField(HOUR, hasHour);
+        if (hasMinute != null) gen.writeNumberField(MINUTE, hasMinute);
+        if (hasSecond != null) gen.writeNumberField(SECOND, hasSecond);
+        gen.writeEndObject();
+    }
+
+    static DateTimeCellAssertion readChecks(String cellAddress, JsonNode checks, JsonParser p) throws IOException {
+        if (!checks.isObject())
+            throw JsonMappingException.from(p, "Expected object with date-time checks");
+
+        var result = new DateTimeCellAssertion(cellAddress);
+        for (var check : checks.properties()) {
+            JsonNode value = check.getValue();
+            switch (check.getKey()) {
+                case BEFORE -> result.isBefore(LocalDateTime.parse(value.asText()));
+                case AFTER -> result.isAfter(LocalDateTime.parse(value.asText()));
+                case EQUAL_TO -> result.isEqualTo(LocalDateTime.parse(value.asText()));
+                case YEAR -> result.hasYear(value.intValue());
+                case MONTH -> result.hasMonthValue(value.intValue());
+                case DAY -> result.hasDayOfMonth(value.intValue());
+                case HOUR -> result.hasHour(value.intValue());
+                case MINUTE -> result.hasMinute(value.intValue());
+                case SECOND -> result.hasSecond(value.intValue());
+                default -> throw JsonMappingException.from(p, "Unknown date-time check: " + check.getKey());
+            }
+        }
+        return result;
     }
 
     private record Tolerance(LocalDateTime expected, TemporalUnitOffset offset) {
@@ -1,5 +1,7 @@
 package io.github.michalbrylka.excelassertion.assertions.cell;
 
+import io.github.michalbrylka.excelassertion.io.CellEntry;
+import io.github.michalbrylka.excelassertion.io.TextCellEntry;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.CellValue;
@@ -12,6 +14,13 @@ public final class EmptyCellAssertion extends ValueCellAssertion<String, EmptyCe
         super(cellAddress);
     }
 
+    public EmptyCellAssertion(int rowIndex, int columnIndex) {
+        super(rowIndex, columnIndex);
+    }
+
+    @Override
+    protected boolean test(String actualValue) {return actualValue == null || actualValue.isEmpty();}
+
     @Override
     protected void assertOnValue(String actualValue, SoftAssertions softly) {
         softly.assertThat(actualValue)
@@ -28,10 +37,18 @@ public final class EmptyCellAssertion extends ValueCellAssertion<String, EmptyCe
     }
 
     @Override
-    protected String fromCellValue(CellValue cellValue) {
+    protected String fromAbsentCell() {return "";}
+
+    @Override
+    protected String fromCellValue(CellValue cellValue, boolean date1904) {
         return cellValue.getCellType() == CellType.BLANK ? "" : cellValue.getStringValue().trim();
     }
 
+    @Override
+    protected String fromCellEntry(CellEntry<?> cellEntry, boolean date1904) {
+        return cellEntry instanceof TextCellEntry textEntry ? textEntry.value().trim() : "";
+    }
+
     @Override
     public String toString() {
         return "(Cell %s is EMPTY)%s".formatted(getFullCellAddress(), super.toString());
@@ -0,0 +1,115 @@
+package io.github.michalbrylka.excelassertion.assertions.cell;
+
+import io.github.michalbrylka.excelassertion.io.DataFormats;
+import io.github.michalbrylka.excelassertion.io.SheetComments;
+import org.apache.poi.ss.usermodel.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Workbook-wide state shared by all cell assertions applied to one workbook.
+ * Holds single {@link FormulaEvaluator} so that its evaluation cache is reused across assertions,
+ * and data formats of the workbook so that each distinct format is resolved and categorized once.
+ * Comments of a sheet are indexed when first comment of that sheet is asserted.
+ */
+public final class EvaluationContext {
+    private final @NotNull Workbook workbook;
+    private FormulaEvaluator formulaEvaluator;
+    private @NotNull EvaluationPolicy evaluationPolicy = EvaluationPolicy.RECALCULATE;
+    private final DataFormats dataFormats = new DataFormats();
+    private final Map<DataFormats.DataFormat, FormatCategory> formatCategories = new IdentityHashMap<>();
+    private final Map<Sheet, SheetComments> sheetComments = new IdentityHashMap<>();
+
+    public EvaluationContext(@NotNull Workbook workbook) {
+        this.workbook = workbook;
+    }
+
+    public @NotNull Workbook getWorkbook() {return workbook;}
+
+    public @NotNull EvaluationPolicy getEvaluationPolicy() {return evaluationPolicy;}
+
+    public void setEvaluationPolicy(@NotNull EvaluationPolicy evaluationPolicy) {this.evaluationPolicy = evaluationPolicy;}
+
+    public @NotNull FormulaEvaluator getFormulaEvaluator() {
+        if (formulaEvaluator == null)
+            formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
+        return formulaEvaluator;
+    }
+
+    public @NotNull DataFormats.DataFormat getDataFormat(@NotNull CellStyle style) {return dataFormats.of(style);}
+
+    public @NotNull FormatCategory getFormatCategory(@NotNull CellStyle style) {
+        return formatCategories.computeIfAbsent(dataFormats.of(style), format -> FormatCategory.detect(format.index(), format.formatString()));
+    }
+
+    public @NotNull SheetComments getComments(@NotNull Sheet sheet) {return sheetComments.computeIfAbsent(sheet, SheetComments::new);}
+
+    /**
+     * Whether dates of the workbook are counted from 1904 instead of 1900
+     */
+    public boolean isDate1904() {return workbook instanceof Date1904Support support && support.isDate1904();}
+
+    /**
+     * Evaluates every formula cell of the workbook to fill evaluator cache up front. Cells are not modified.
+     * Formulas that cannot be evaluated are skipped here - they are reported by assertions that reference them.
+     * Evaluates regardless of current policy, so the cache is ready for policy that evaluates, even if it is set later.
+     */
+    public void evaluateAll() {
+        var evaluator = getFormulaEvaluator();
+        for (Sheet sheet : workbook)
+            for (Row row : sheet)
+                for (Cell cell : row)
+                    if (cell.getCellType() == CellType.FORMULA) {
+                        try {
+                            evaluator.evaluate(cell);
+                        } catch (RuntimeException ignored) {
+                            // unsupported function or broken reference
+                        }
+                    }
+    }
+
+    /**
+     * Obtains value of formula cell according to {@link #getEvaluationPolicy()}.
+     *
+     * @param onStaleResult receives description of mismatch between stored and evaluated result, for {@link EvaluationPolicy#CACHED_THEN_VERIFY} only
+     */
+    public @NotNull CellValue evaluate(@NotNull Cell cell, @NotNull Consumer<String> onStaleResult) {
+        return switch (evaluationPolicy) {
+            case CACHED -> getCachedValue(cell);
+            case RECALCULATE -> getFormulaEvaluator().evaluate(cell);
+            case CACHED_THEN_VERIFY -> {
+                CellValue cached = getCachedValue(cell);
+                CellValue evaluated = getFormulaEvaluator().evaluate(cell);
+                if (!isSameValue(cached, evaluated))
+                    onStaleResult.accept("stored result %s differs from evaluated %s".formatted(cached.formatAsString(), evaluated.formatAsString()));
+                yield cached;
+            }
+        };
+    }
+
+    private static CellValue getCachedValue(Cell cell) {
+        return switch (cell.getCachedFormulaResultType()) {
+            case NUMERIC -> new CellValue(cell.getNumericCellValue());
+            case STRING -> new CellValue(cell.getStringCellValue());
+            case BOOLEAN -> CellValue.valueOf(cell.getBooleanCellValue());
+            case ERROR -> CellValue.getError(cell.getErrorCellValue());
+            default -> throw new IllegalStateException("Unexpected cached result type of formula cell " + cell.getAddress());
+        };
+    }
+
+    private static boolean isSameValue(CellValue cached, CellValue evaluated) {
+        if (cached.getCellType() != evaluated.getCellType())
+            return false;
+        return switch (cached.getCellType()) {
+            // stored results are written with 15 significant digits
+            case NUMERIC -> Math.abs(cached.getNumberValue() - evaluated.getNumberValue()) <= 1e-14 * Math.max(1.0, Math.abs(evaluated.getNumberValue()));
+            case STRING -> cached.getStringValue().equals(evaluated.getStringValue());
+            case BOOLEAN -> cached.getBooleanValue() == evaluated.getBooleanValue();
+            case ERROR -> cached.getErrorValue() == evaluated.getErrorValue();
+            default -> true;
+        };
+    }
+}
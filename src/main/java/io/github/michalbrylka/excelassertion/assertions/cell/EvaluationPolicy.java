@@ -0,0 +1,19 @@
+package io.github.michalbrylka.excelassertion.assertions.cell;
+
+/**
+ * Decides how value of a formula cell is obtained before it is asserted.
+ */
+public enum EvaluationPolicy {
+    /**
+     * Uses result stored in the file by the application that last calculated it. Formula is not evaluated.
+     */
+    CACHED,
+    /**
+     * Evaluates formula with POI, ignoring stored result.
+     */
+    RECALCULATE,
+    /**
+     * Asserts on stored result and additionally checks that it matches freshly evaluated one.
+     */
+    CACHED_THEN_VERIFY
+}
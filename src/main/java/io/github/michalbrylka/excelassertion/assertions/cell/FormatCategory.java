@@ -1,5 +1,42 @@
 package io.github.michalbrylka.excelassertion.assertions.cell;
 
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
 public enum FormatCategory {
-    GENERAL, PERCENTAGE, ACCOUNTING, DATE, TIME, CURRENCY, TEXT, FRACTION, SCIENTIFIC, OTHER
-}
\ No newline at end of file
+    GENERAL, PERCENTAGE, ACCOUNTING, DATE, TIME, CURRENCY, TEXT, FRACTION, SCIENTIFIC, OTHER;
+
+    private static final int CACHE_SIZE = 256;
+    private static final Map<String, FormatCategory> CATEGORIES_OF_FORMATS = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FormatCategory> eldest) {return size() > CACHE_SIZE;}
+    });
+
+    /**
+     * Category of format string without known format index, i.e. read by streaming reader. Shared by all workbooks as it depends on format string only.
+     */
+    static FormatCategory of(String format) {
+        return format == null ? OTHER : CATEGORIES_OF_FORMATS.computeIfAbsent(format, key -> detect(-1, key));
+    }
+
+    static FormatCategory detect(int formatIndex, String format) {
+        if (format != null) {
+            format = format.toLowerCase(Locale.ROOT);
+
+            if (format.equals("general")) return GENERAL;
+            if (format.contains("%")) return PERCENTAGE;
+            if (DateUtil.isADateFormat(formatIndex, format)) return DATE;
+            if (format.contains("h") || format.contains("s") || format.contains("am/pm")) return TIME;
+            if (format.contains("#,##0") || format.contains("currency")) return CURRENCY;
+            if (format.contains("_($") || format.contains("accounting")) return ACCOUNTING;
+            if (format.contains("e+")) return SCIENTIFIC;
+            if (format.contains("?/")) return FRACTION;
+            if (format.contains("@")) return TEXT;
+        }
+        return OTHER;
+    }
+}
@@ -1,5 +1,9 @@
 package io.github.michalbrylka.excelassertion.assertions.cell;
 
+import io.github.michalbrylka.excelassertion.io.CellEntry;
+import io.github.michalbrylka.excelassertion.io.DateCellEntry;
+import io.github.michalbrylka.excelassertion.io.NumberCellEntry;
+import io.github.michalbrylka.excelassertion.io.PrimitiveNumberCellEntry;
 import org.apache.poi.ss.usermodel.*;
 import org.assertj.core.api.SoftAssertions;
 import org.jetbrains.annotations.NotNull;
@@ -16,6 +20,14 @@ public final class NumberCellAssertion extends ValueCellAssertion<Double, Number
         this.assertion = assertion;
     }
 
+    public NumberCellAssertion(int rowIndex, int columnIndex, @NotNull NumberAssertion assertion) {
+        super(rowIndex, columnIndex);
+        this.assertion = assertion;
+    }
+
+    @Override
+    protected boolean test(Double actualValue) {return actualValue != null && assertion.test(actualValue);}
+
     @Override
     protected void assertOnValue(Double actualValue, SoftAssertions softly) {
         var softAssert = softly.assertThat(actualValue)
@@ -42,7 +54,32 @@ public final class NumberCellAssertion extends ValueCellAssertion<Double, Number
     }
 
     @Override
-    protected Double fromCellValue(CellValue cellValue) {
+    protected Double fromCellValue(CellValue cellValue, boolean date1904) {
         return cellValue.getNumberValue();
     }
+
+    @Override
+    protected Double fromCellEntry(CellEntry<?> cellEntry, boolean date1904) {
+        return isNumeric(cellEntry) ? doubleFromCellEntry(cellEntry, date1904) : null;
+    }
+
+    @Override
+    protected boolean testCell(Cell cell) {return assertion.test(cell.getNumericCellValue());}
+
+    @Override
+    protected boolean testCellValue(CellValue cellValue, boolean date1904) {return assertion.test(cellValue.getNumberValue());}
+
+    @Override
+    protected boolean testCellEntry(CellEntry<?> cellEntry, boolean date1904) {return isNumeric(cellEntry) && assertion.test(doubleFromCellEntry(cellEntry, date1904));}
+
+    static boolean isNumeric(CellEntry<?> cellEntry) {return cellEntry instanceof NumberCellEntry || cellEntry instanceof PrimitiveNumberCellEntry || cellEntry instanceof DateCellEntry;}
+
+    static double doubleFromCellEntry(CellEntry<?> cellEntry, boolean date1904) {
+        return switch (cellEntry) {
+            case NumberCellEntry numberEntry -> numberEntry.doubleValue();
+            case PrimitiveNumberCellEntry numberEntry -> numberEntry.doubleValue();
+            case DateCellEntry dateEntry -> DateUtil.getExcelDate(dateEntry.value(), date1904);
+            default -> throw new IllegalArgumentException("Not a numeric cell entry: " + cellEntry);
+        };
+    }
 }
\ No newline at end of file
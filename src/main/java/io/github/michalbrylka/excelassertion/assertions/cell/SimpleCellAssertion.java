@@ -1,5 +1,6 @@
 package io.github.michalbrylka.excelassertion.assertions.cell;
 
+import io.github.michalbrylka.excelassertion.io.CellEntry;
 import org.apache.poi.ss.usermodel.Cell;
 import org.assertj.core.api.SoftAssertions;
 
@@ -10,8 +11,23 @@ public final class SimpleCellAssertion extends CellAssertion<SimpleCellAssertion
         super(cellAddress);
     }
 
+    public SimpleCellAssertion(int rowIndex, int columnIndex) {
+        super(rowIndex, columnIndex);
+    }
+
+    @Override
+    protected void applyAssertCore(Cell cell, EvaluationContext context, SoftAssertions softly) {
+        //do nothing. This will only be used to assert on format, format category etc
+    }
+
     @Override
-    protected void applyAssertCore(Cell cell, SoftAssertions softly) {
+    protected void applyAssertCore(CellEntry<?> cellEntry, boolean date1904, SoftAssertions softly) {
         //do nothing. This will only be used to assert on format, format category etc
     }
+
+    @Override
+    protected boolean testCore(Cell cell, EvaluationContext context) {return true;}
+
+    @Override
+    protected boolean testCore(CellEntry<?> cellEntry, boolean date1904) {return true;}
 }
@@ -1,5 +1,7 @@
 package io.github.michalbrylka.excelassertion.assertions.cell;
 
+import io.github.michalbrylka.excelassertion.io.CellEntry;
+import io.github.michalbrylka.excelassertion.io.TextCellEntry;
 import org.apache.poi.ss.usermodel.*;
 import org.assertj.core.api.SoftAssertions;
 import org.jetbrains.annotations.NotNull;
@@ -15,6 +17,14 @@ public final class TextCellAssertion extends ValueCellAssertion<String, TextCell
         this.assertion = assertion;
     }
 
+    public TextCellAssertion(int rowIndex, int columnIndex, @NotNull TextAssertion<?> assertion) {
+        super(rowIndex, columnIndex);
+        this.assertion = assertion;
+    }
+
+    @Override
+    protected boolean test(String actualValue) {return assertion.test(actualValue);}
+
     @Override
     protected void assertOnValue(String actualValue, SoftAssertions softly) {
         var softAssert = softly.assertThat(actualValue)
@@ -38,7 +48,12 @@ public final class TextCellAssertion extends ValueCellAssertion<String, TextCell
     }
 
     @Override
-    protected String fromCellValue(CellValue cellValue) {
+    protected String fromCellValue(CellValue cellValue, boolean date1904) {
         return cellValue.getStringValue();
     }
+
+    @Override
+    protected String fromCellEntry(CellEntry<?> cellEntry, boolean date1904) {
+        return cellEntry instanceof TextCellEntry textEntry ? textEntry.value() : null;
+    }
 }
\ No newline at end of file
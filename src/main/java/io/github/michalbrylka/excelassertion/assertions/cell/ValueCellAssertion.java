@@ -1,5 +1,6 @@
 package io.github.michalbrylka.excelassertion.assertions.cell;
 
+import io.github.michalbrylka.excelassertion.io.*;
 import org.apache.poi.ss.usermodel.*;
 import org.assertj.core.api.ObjectAssert;
 import org.assertj.core.api.SoftAssertions;
@@ -13,28 +14,127 @@ public sealed abstract class ValueCellAssertion<TValue, TAssertion extends Value
         super(cellAddress);
     }
 
+    protected ValueCellAssertion(int rowIndex, int columnIndex) {
+        super(rowIndex, columnIndex);
+    }
+
     @Override
-    protected final void applyAssertCore(Cell cell, SoftAssertions softly) {
-        CellType cellType = cell.getCellType();
+    protected final void applyAssertCore(Cell cell, EvaluationContext context, SoftAssertions softly) {
+        CellType cellType = cell == null ? CellType.BLANK : cell.getCellType();
         if (isCellTypeSupported(cellType)) {
-            assertOnValue(fromCell(cell), softly);
+            if (cell == null) {
+                if (!test(fromAbsentCell()))
+                    assertOnValue(fromAbsentCell(), softly);
+            } else if (!testCell(cell))
+                assertOnValue(fromCell(cell), softly);
         } else if (CellType.FORMULA == cellType) {
-            CellValue cellValue = cell.getSheet().getWorkbook().getCreationHelper().createFormulaEvaluator().evaluate(cell);
+            CellValue cellValue = context.evaluate(cell, staleResult ->
+                    softly.fail("%s: formula cell %s has stale result: %s".formatted(this.getClass().getSimpleName(), getFullCellAddress(), staleResult)));
             CellType cellValueType = cellValue.getCellType();
 
-            if (isCellTypeSupported(cellValueType))
-                assertOnValue(fromCellValue(cellValue), softly);
-            else
+            if (!isCellTypeSupported(cellValueType))
                 softly.fail("%s: cannot add assertion for formula cell %s %s: '%s'".formatted(this.getClass().getSimpleName(), getFullCellAddress(), cellValueType, cell.getStringCellValue()));
+            else if (!testCellValue(cellValue, context.isDate1904()))
+                assertOnValue(fromCellValue(cellValue, context.isDate1904()), softly);
         } else
             softly.fail("%s: cannot add assertion for cell %s:'%s'".formatted(this.getClass().getSimpleName(), getFullCellAddress(), cell == null ? "<EMPTY>" : cell.getStringCellValue()));
     }
 
+    @Override
+    protected final void applyAssertCore(CellEntry<?> cellEntry, boolean date1904, SoftAssertions softly) {
+        CellType cellType = getCellType(cellEntry);
+        if (isCellTypeSupported(cellType)) {
+            if (!testCellEntry(cellEntry, date1904))
+                assertOnValue(fromCellEntry(cellEntry, date1904), softly);
+        } else if (cellEntry instanceof FormulaCellEntry<?> formulaEntry) {
+            CellEntry<?> result = formulaEntry.result();
+            CellType resultType = result == null ? CellType.BLANK : getCellType(result);
+
+            if (result == null || !isCellTypeSupported(resultType))
+                softly.fail("%s: cannot add assertion for formula cell %s %s: '%s'".formatted(this.getClass().getSimpleName(), getFullCellAddress(), resultType, formulaEntry.value()));
+            else if (!testCellEntry(result, date1904))
+                assertOnValue(fromCellEntry(result, date1904), softly);
+        } else
+            softly.fail("%s: cannot add assertion for cell %s:'%s'".formatted(this.getClass().getSimpleName(), getFullCellAddress(), cellEntry.value() == null ? "" : cellEntry.value()));
+    }
+
+    @Override
+    protected final boolean testCore(Cell cell, EvaluationContext context) {
+        CellType cellType = cell == null ? CellType.BLANK : cell.getCellType();
+        if (isCellTypeSupported(cellType))
+            return cell == null ? test(fromAbsentCell()) : testCell(cell);
+        if (CellType.FORMULA != cellType)
+            return false;
+
+        boolean[] stale = {false};
+        CellValue cellValue = context.evaluate(cell, staleResult -> stale[0] = true);
+        return !stale[0] && isCellTypeSupported(cellValue.getCellType()) && testCellValue(cellValue, context.isDate1904());
+    }
+
+    @Override
+    protected final boolean testCore(CellEntry<?> cellEntry, boolean date1904) {
+        if (isCellTypeSupported(getCellType(cellEntry)))
+            return testCellEntry(cellEntry, date1904);
+        return cellEntry instanceof FormulaCellEntry<?> formulaEntry
+               && formulaEntry.result() instanceof CellEntry<?> result
+               && isCellTypeSupported(getCellType(result))
+               && testCellEntry(result, date1904);
+    }
+
+    private static CellType getCellType(CellEntry<?> cellEntry) {
+        return switch (cellEntry) {
+            case TextCellEntry ignored -> CellType.STRING;
+            case NumberCellEntry ignored -> CellType.NUMERIC;
+            case PrimitiveNumberCellEntry ignored -> CellType.NUMERIC;
+            case DateCellEntry ignored -> CellType.NUMERIC;
+            case BooleanCellEntry ignored -> CellType.BOOLEAN;
+            case ErrorCellEntry ignored -> CellType.ERROR;
+            case FormulaCellEntry<?> ignored -> CellType.FORMULA;
+            case NoValueCellEntry ignored -> CellType.BLANK;
+        };
+    }
+
+    /**
+     * {@code true} guarantees that {@link #assertOnValue} passes for the same value.
+     * Values are checked in two phases - cheap test first, soft assertion (with its description and message) is only built for failing value
+     */
+    protected abstract boolean test(TValue actualValue);
+
+    /**
+     * Same as {@link #test} on {@link #fromCell}, overridden to read primitive values without boxing
+     */
+    protected boolean testCell(Cell cell) {return test(fromCell(cell));}
+
+    /**
+     * Same as {@link #test} on {@link #fromCellValue}, overridden to read primitive values without boxing
+     */
+    protected boolean testCellValue(CellValue cellValue, boolean date1904) {return test(fromCellValue(cellValue, date1904));}
+
+    /**
+     * Same as {@link #test} on {@link #fromCellEntry}, overridden to read primitive values without boxing
+     */
+    protected boolean testCellEntry(CellEntry<?> cellEntry, boolean date1904) {return test(fromCellEntry(cellEntry, date1904));}
+
     protected abstract void assertOnValue(TValue actualValue, SoftAssertions softly);
 
     protected abstract boolean isCellTypeSupported(CellType cellType);
 
     protected abstract TValue fromCell(Cell cell);
 
-    protected abstract TValue fromCellValue(CellValue cellValue);
+    /**
+     * Value of cell absent from the sheet, asserted only when {@link CellType#BLANK} is supported
+     */
+    protected TValue fromAbsentCell() {return null;}
+
+    /**
+     * @param date1904 whether dates of the cell's workbook are counted from 1904
+     */
+    protected abstract TValue fromCellValue(CellValue cellValue, boolean date1904);
+
+    /**
+     * Extracts value from entry of a type accepted by {@link #isCellTypeSupported(CellType)}
+     *
+     * @param date1904 whether dates of the entry's workbook are counted from 1904
+     */
+    protected abstract TValue fromCellEntry(CellEntry<?> cellEntry, boolean date1904);
 }
\ No newline at end of file
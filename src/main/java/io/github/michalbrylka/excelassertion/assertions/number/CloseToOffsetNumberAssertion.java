@@ -9,6 +9,12 @@ public record CloseToOffsetNumberAssertion(double expected, Offset<Double> offse
         assertion.isCloseTo(expected, offset);
     }
 
+    @Override
+    public boolean test(double actual) {
+        double difference = Math.abs(actual - expected);
+        return offset.strict ? difference < offset.value : difference <= offset.value;
+    }
+
     @Override
     public String toString() {
         return "~" + expected + "±" + offset.value;
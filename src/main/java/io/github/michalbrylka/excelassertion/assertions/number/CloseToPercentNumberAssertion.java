@@ -9,6 +9,12 @@ public record CloseToPercentNumberAssertion(double expected, Percentage percenta
         assertion.isCloseTo(expected, percentage);
     }
 
+    @Override
+    public boolean test(double actual) {
+        double difference = Math.abs(expected - actual);
+        return Double.isFinite(difference) && difference <= Math.abs(percentage.value * expected / 100d);
+    }
+
     @Override
     public String toString() {
         return "~" + expected + "±" + percentage.value + "%";
@@ -8,6 +8,9 @@ public record EqualToNumberAssertion(double expected) implements NumberAssertion
         assertion.isEqualTo(expected);
     }
 
+    @Override
+    public boolean test(double actual) {return actual == expected;}
+
     @Override
     public String toString() {
         return "== " + expected;
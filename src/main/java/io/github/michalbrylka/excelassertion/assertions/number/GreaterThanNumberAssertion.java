@@ -8,6 +8,9 @@ public record GreaterThanNumberAssertion(double threshold) implements NumberAsse
         assertion.isGreaterThan(threshold);
     }
 
+    @Override
+    public boolean test(double actual) {return actual > threshold;}
+
     @Override
     public String toString() {
         return "> " + threshold;
@@ -8,6 +8,9 @@ public record GreaterThanOrEqualToNumberAssertion(double threshold) implements N
         assertion.isGreaterThanOrEqualTo(threshold);
     }
 
+    @Override
+    public boolean test(double actual) {return actual >= threshold;}
+
     @Override
     public String toString() {
         return ">= " + threshold;
@@ -8,6 +8,9 @@ public record LessThanNumberAssertion(double threshold) implements NumberAsserti
         assertion.isLessThan(threshold);
     }
 
+    @Override
+    public boolean test(double actual) {return actual < threshold;}
+
     @Override
     public String toString() {
         return "< " + threshold;
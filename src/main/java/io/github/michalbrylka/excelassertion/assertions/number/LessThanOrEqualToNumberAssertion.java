@@ -8,6 +8,9 @@ public record LessThanOrEqualToNumberAssertion(double threshold) implements Numb
         assertion.isLessThanOrEqualTo(threshold);
     }
 
+    @Override
+    public boolean test(double actual) {return actual <= threshold;}
+
     @Override
     public String toString() {
         return "<= " + threshold;
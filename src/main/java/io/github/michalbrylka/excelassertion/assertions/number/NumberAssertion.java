@@ -12,9 +12,6 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 
 import java.io.IOException;
 import java.util.*;
-import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.assertj.core.data.Offset;
 import org.assertj.core.data.Percentage;
@@ -27,6 +24,28 @@ public sealed interface NumberAssertion permits CloseToOffsetNumberAssertion, Cl
 
     void apply(AbstractDoubleAssert<? extends AbstractDoubleAssert<?>> assertion);
 
+    /**
+     * Checks value without AssertJ machinery. {@code true} guarantees that {@link #apply} passes for the same value,
+     * {@code false} means {@link #apply} should be run to report (or, for corner cases like NaN, to decide) the result.
+     */
+    boolean test(double actual);
+
+    /**
+     * Bulk {@link #test} of {@code values[0..length)} in a tight loop over primitives, no value is boxed.
+     *
+     * @param failed set to {@code true} at indices of values failing the test, only worth inspecting when result is positive
+     * @return number of failing values
+     */
+    default int testAll(double[] values, int length, boolean[] failed) {
+        int failedCount = 0;
+        for (int i = 0; i < length; i++) {
+            boolean f = !test(values[i]);
+            failed[i] = f;
+            failedCount += f ? 1 : 0;
+        }
+        return failedCount;
+    }
+
     @Override
     String toString();
 
@@ -52,10 +71,18 @@ public sealed interface NumberAssertion permits CloseToOffsetNumberAssertion, Cl
             this.primary = primary;
         }
 
+        private static final Map<String, NumberAssertionType> BY_DISCRIMINATOR;
+
+        static {
+            Map<String, NumberAssertionType> byDiscriminator = new HashMap<>();
+            for (var type : values())
+                for (var alias : type.aliases)
+                    byDiscriminator.put(alias, type);
+            BY_DISCRIMINATOR = Map.copyOf(byDiscriminator);
+        }
+
         static Optional<NumberAssertionType> fromDiscriminator(String discriminator) {
-            return Arrays.stream(values())
-                    .filter(t -> t.aliases.contains(discriminator))
-                    .findFirst();
+            return Optional.ofNullable(BY_DISCRIMINATOR.get(discriminator));
         }
     }
 
@@ -109,95 +136,172 @@ public sealed interface NumberAssertion permits CloseToOffsetNumberAssertion, Cl
         }
     }
 
+    /**
+     * Reads tokens of the single-field object directly. Close-to and range texts are scanned by hand instead of with regular expressions.
+     */
     class NumberAssertionDeserializer extends JsonDeserializer<NumberAssertion> {
-        private static final String CLOSE_TO_PATTERN = "^(?<expected>[-+]?\\d*\\.?\\d+)\\s*(±|\\+-)\\s*(?<tolerance>\\d*\\.?\\d+)";
-        private static final Pattern CLOSE_TO_OFFSET_PATTERN = Pattern.compile(CLOSE_TO_PATTERN + "$");
-        private static final Pattern CLOSE_TO_PERCENT_PATTERN = Pattern.compile(CLOSE_TO_PATTERN + "%$");
-        private static final Pattern RANGE_PATTERN = Pattern.compile(
-                "^\\s*(?<open>[\\[(])\\s*" +
-                "(?<from>[-+]?\\d*\\.?\\d+)\\s*\\.\\.\\s*" +
-                "(?<to>[-+]?\\d*\\.?\\d+)\\s*" +
-                "(?<close>[])])\\s*$"
-        );
 
         @Override
         public NumberAssertion deserialize(JsonParser p, DeserializationContext ctx) throws IOException {
-            if (p.getCurrentToken() != JsonToken.START_OBJECT)
+            if (p.currentToken() != JsonToken.START_OBJECT)
                 throw JsonMappingException.from(p, "Expected start of object");
 
-            p.nextToken();
-            if (p.getCurrentToken() != JsonToken.FIELD_NAME)
+            if (p.nextToken() != JsonToken.FIELD_NAME)
                 throw JsonMappingException.from(p, "Expected single field as discriminator");
 
             String disc = p.currentName();
-            NumberAssertionType type = NumberAssertionType.fromDiscriminator(disc)
-                    .orElseThrow(() -> JsonMappingException.from(p, "Unknown discriminator: '%s'".formatted(disc)));
+            NumberAssertionType type = NumberAssertionType.BY_DISCRIMINATOR.get(disc);
+            if (type == null)
+                throw JsonMappingException.from(p, "Unknown discriminator: '%s'".formatted(disc));
 
             p.nextToken();
 
             NumberAssertion result = switch (type) {
-                case EQUAL_TO -> parseNumberAssertionOrThrow(p, EqualToNumberAssertion::new);
-                case GREATER_THAN -> parseNumberAssertionOrThrow(p, GreaterThanNumberAssertion::new);
-                case GREATER_THAN_OR_EQUAL_TO -> parseNumberAssertionOrThrow(p, GreaterThanOrEqualToNumberAssertion::new);
-                case LESS_THAN -> parseNumberAssertionOrThrow(p, LessThanNumberAssertion::new);
-                case LESS_THAN_OR_EQUAL_TO -> parseNumberAssertionOrThrow(p, LessThanOrEqualToNumberAssertion::new);
-                case CLOSE_TO_OFFSET ->
-                        parseCloseTo(p, CLOSE_TO_OFFSET_PATTERN, (expected, tolerance) -> new CloseToOffsetNumberAssertion(expected, Offset.offset(tolerance)));
-                case CLOSE_TO_PERCENT ->
-                        parseCloseTo(p, CLOSE_TO_PERCENT_PATTERN, (expected, tolerance) -> new CloseToPercentNumberAssertion(expected, Percentage.withPercentage(tolerance)));
-                case WITHIN_RANGE -> parseRange(p, WithinRangeNumberAssertion::new);
-                case OUTSIDE_RANGE -> parseRange(p, OutsideRangeNumberAssertion::new);
+                case EQUAL_TO -> new EqualToNumberAssertion(parseNumber(p));
+                case GREATER_THAN -> new GreaterThanNumberAssertion(parseNumber(p));
+                case GREATER_THAN_OR_EQUAL_TO -> new GreaterThanOrEqualToNumberAssertion(parseNumber(p));
+                case LESS_THAN -> new LessThanNumberAssertion(parseNumber(p));
+                case LESS_THAN_OR_EQUAL_TO -> new LessThanOrEqualToNumberAssertion(parseNumber(p));
+                case CLOSE_TO_OFFSET -> {
+                    var closeTo = parseCloseTo(p, false);
+                    yield new CloseToOffsetNumberAssertion(closeTo.number(0), Offset.offset(closeTo.number(1)));
+                }
+                case CLOSE_TO_PERCENT -> {
+                    var closeTo = parseCloseTo(p, true);
+                    yield new CloseToPercentNumberAssertion(closeTo.number(0), Percentage.withPercentage(closeTo.number(1)));
+                }
+                case WITHIN_RANGE -> {
+                    var range = parseRange(p);
+                    yield new WithinRangeNumberAssertion(range.number(0), range.number(1), range.exclusiveFrom, range.exclusiveTo);
+                }
+                case OUTSIDE_RANGE -> {
+                    var range = parseRange(p);
+                    yield new OutsideRangeNumberAssertion(range.number(0), range.number(1), range.exclusiveFrom, range.exclusiveTo);
+                }
             };
 
-            p.nextToken();
-            if (p.getCurrentToken() != JsonToken.END_OBJECT)
+            if (p.nextToken() != JsonToken.END_OBJECT)
                 throw JsonMappingException.from(p, "Expected end of object after single field");
 
             return result;
         }
 
-        private static <T extends NumberAssertion> T parseNumberAssertionOrThrow(JsonParser parser, Function<Double, T> assertionSupplier) throws IOException {
-            return switch (parser.getCurrentToken()) {
-                case VALUE_NUMBER_FLOAT, VALUE_NUMBER_INT -> assertionSupplier.apply(parser.getDoubleValue());
+        private static double parseNumber(JsonParser parser) throws IOException {
+            return switch (parser.currentToken()) {
+                case VALUE_NUMBER_FLOAT, VALUE_NUMBER_INT -> parser.getDoubleValue();
                 case null, default -> throw JsonMappingException.from(parser, "Expected numeric value");
             };
         }
 
-        private static <T extends NumberAssertion> T parseCloseTo(JsonParser parser, Pattern pattern, CloseToSupplier<T> closeToSupplier) throws IOException {
-            if (parser.getCurrentToken() != JsonToken.VALUE_STRING)
+        /**
+         * Scans {@code expected±tolerance} or {@code expected+-tolerance}, followed by {@code %} for percentage
+         */
+        private static TextScanner parseCloseTo(JsonParser parser, boolean percentage) throws IOException {
+            if (parser.currentToken() != JsonToken.VALUE_STRING)
                 throw JsonMappingException.from(parser, "Expected string for close-to pattern");
-            String text = parser.getText().replace(" ", "").trim();
-            Matcher m = pattern.matcher(text);
-            if (!m.matches())
-                throw JsonMappingException.from(parser, "Invalid format for close-to pattern: " + text);
-
-            double expected = Double.parseDouble(m.group("expected"));
-            double tolerance = Double.parseDouble(m.group("tolerance"));
-            return closeToSupplier.get(expected, tolerance);
+
+            var scanner = new TextScanner(parser.getText());
+            if (!(scanner.scanNumber(true)
+                  && (scanner.consume('±') || scanner.consume('+') && scanner.consume('-'))
+                  && scanner.scanNumber(false)
+                  && (!percentage || scanner.consume('%'))
+                  && scanner.atEnd()))
+                throw JsonMappingException.from(parser, "Invalid format for close-to pattern: " + scanner.textWithoutSpaces());
+            return scanner;
         }
 
-        private static <T extends NumberAssertion> T parseRange(JsonParser p, RangeSupplier<T> rangeSupplier) throws IOException {
-            if (p.getCurrentToken() != JsonToken.VALUE_STRING)
+        /**
+         * Scans {@code [from..to]} where each bracket can be replaced by parenthesis for exclusive bound
+         */
+        private static TextScanner parseRange(JsonParser p) throws IOException {
+            if (p.currentToken() != JsonToken.VALUE_STRING)
                 throw JsonMappingException.from(p, "Expected string for within/outside range");
-            String s = p.getText().replace(" ", "");
-            Matcher m = RANGE_PATTERN.matcher(s);
-            if (!m.matches()) throw JsonMappingException.from(p, "Invalid format for within/outside range: " + s);
-            boolean exclusiveFrom = m.group("open").equals("(");
-            boolean exclusiveTo = m.group("close").equals(")");
-            double from = Double.parseDouble(m.group("from"));
-            double to = Double.parseDouble(m.group("to"));
-            return rangeSupplier.get(from, to, exclusiveFrom, exclusiveTo);
-        }
 
-        @FunctionalInterface
-        private interface CloseToSupplier<T extends NumberAssertion> {
-            T get(double expected, double tolerance);
+            var scanner = new TextScanner(p.getText());
+            boolean valid = (scanner.consume('[') || (scanner.exclusiveFrom = scanner.consume('(')))
+                            && scanner.scanNumber(true)
+                            && scanner.consume('.') && scanner.consume('.')
+                            && scanner.scanNumber(true)
+                            && (scanner.consume(']') || (scanner.exclusiveTo = scanner.consume(')')))
+                            && scanner.atEnd();
+            if (!valid)
+                throw JsonMappingException.from(p, "Invalid format for within/outside range: " + scanner.textWithoutSpaces());
+            return scanner;
         }
 
-        @FunctionalInterface
-        private interface RangeSupplier<T extends NumberAssertion> {
-            T get(double from, double to, boolean exclusiveFrom, boolean exclusiveTo);
+        /**
+         * Cursor over assertion text, whitespace between tokens is skipped. Holds up to two scanned numbers and range bounds.
+         */
+        private static final class TextScanner {
+            private final String text;
+            private int position;
+            private final double[] numbers = new double[2];
+            private int numberCount;
+            boolean exclusiveFrom;
+            boolean exclusiveTo;
+
+            TextScanner(String text) {this.text = text;}
+
+            double number(int index) {return numbers[index];}
+
+            boolean atEnd() {
+                skipWhitespace();
+                return position == text.length();
+            }
+
+            boolean consume(char expected) {
+                skipWhitespace();
+                if (position < text.length() && text.charAt(position) == expected) {
+                    position++;
+                    return true;
+                }
+                return false;
+            }
+
+            /**
+             * Decimal number: optional sign, digits with optional fraction and optional exponent, i.e. {@code -12}, {@code .5}, {@code 1.0E-7}.
+             * Dot not followed by digit is not part of the number, so that {@code 1..2} is scanned as two numbers.
+             */
+            boolean scanNumber(boolean signed) {
+                skipWhitespace();
+                int start = position;
+                if (signed && position < text.length() && (text.charAt(position) == '-' || text.charAt(position) == '+'))
+                    position++;
+                int digits = skipDigits();
+                if (isDigitAt(position + 1) && text.charAt(position) == '.') {
+                    position++;
+                    digits += skipDigits();
+                }
+                if (digits == 0) {
+                    position = start;
+                    return false;
+                }
+                if (position < text.length() && (text.charAt(position) == 'e' || text.charAt(position) == 'E')) {
+                    int exponent = position + (position + 1 < text.length() && (text.charAt(position + 1) == '-' || text.charAt(position + 1) == '+') ? 2 : 1);
+                    if (isDigitAt(exponent)) {
+                        position = exponent;
+                        skipDigits();
+                    }
+                }
+                numbers[numberCount++] = Double.parseDouble(text.substring(start, position));
+                return true;
+            }
+
+            String textWithoutSpaces() {return text.replace(" ", "").trim();}
+
+            private int skipDigits() {
+                int start = position;
+                while (isDigitAt(position)) position++;
+                return position - start;
+            }
+
+            private boolean isDigitAt(int index) {
+                return index < text.length() && text.charAt(index) >= '0' && text.charAt(index) <= '9';
+            }
+
+            private void skipWhitespace() {
+                while (position < text.length() && Character.isWhitespace(text.charAt(position))) position++;
+            }
         }
     }
 }
-
@@ -15,13 +15,18 @@ public record OutsideRangeNumberAssertion(double from, double to, boolean exclus
     @Override
     public void apply(AbstractDoubleAssert<? extends AbstractDoubleAssert<?>> assertion) {
         assertion.satisfies(actual -> {
-            boolean left = exclusiveFrom ? actual <= from : actual < from;
-            boolean right = exclusiveTo ? actual >= to : actual > to;
-            if (!(left || right))
+            if (!test(actual))
                 throw new AssertionError("Expected number to be %s but was %s".formatted(this, actual));
         });
     }
 
+    @Override
+    public boolean test(double actual) {
+        boolean left = exclusiveFrom ? actual <= from : actual < from;
+        boolean right = exclusiveTo ? actual >= to : actual > to;
+        return left || right;
+    }
+
     @Override
     public String toString() {
         String left = exclusiveFrom ? "(" : "[";
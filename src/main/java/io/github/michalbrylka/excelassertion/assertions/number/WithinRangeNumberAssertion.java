@@ -21,6 +21,12 @@ public record WithinRangeNumberAssertion(double from, double to, boolean exclusi
         else assertion.isLessThanOrEqualTo(to);
     }
 
+    @Override
+    public boolean test(double actual) {
+        return (exclusiveFrom ? actual > from : actual >= from) &&
+               (exclusiveTo ? actual < to : actual <= to);
+    }
+
     @Override
     public String toString() {
         String left = exclusiveFrom ? "(" : "[";
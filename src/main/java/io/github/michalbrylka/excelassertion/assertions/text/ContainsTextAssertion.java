@@ -24,4 +24,28 @@ public final class ContainsTextAssertion extends TextAssertion<ContainsTextAsser
         if (this.ignoreCase) assertion.containsIgnoringCase(this.expectedSubstring);
         else assertion.contains(this.expectedSubstring);
     }
+
+    @Override
+    public boolean test(CharSequence actual) {
+        if (actual == null) return false;
+        if (!this.ignoreCase) return actual.toString().contains(this.expectedSubstring);
+
+        int length = this.expectedSubstring.length();
+        for (int i = 0; i + length <= actual.length(); i++)
+            if (regionMatchesLowerCase(actual, i, this.expectedSubstring, length))
+                return true;
+        return false;
+    }
+
+    /**
+     * Lower-case comparison only, as done by {@link AbstractStringAssert#containsIgnoringCase}
+     */
+    private static boolean regionMatchesLowerCase(CharSequence text, int offset, String substring, int length) {
+        for (int j = 0; j < length; j++) {
+            char c1 = text.charAt(offset + j), c2 = substring.charAt(j);
+            if (c1 != c2 && Character.toLowerCase(c1) != Character.toLowerCase(c2))
+                return false;
+        }
+        return true;
+    }
 }
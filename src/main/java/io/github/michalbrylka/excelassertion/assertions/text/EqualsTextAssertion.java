@@ -15,11 +15,13 @@ public final class EqualsTextAssertion extends TextAssertion<EqualsTextAssertion
     }
 
     public EqualsTextAssertion ignoreNewLines() {
+        checkNotFrozen();
         this.ignoreNewLines = true;
         return this;
     }
 
     public EqualsTextAssertion respectNewLines() {
+        checkNotFrozen();
         this.ignoreNewLines = false;
         return this;
     }
@@ -32,11 +34,7 @@ public final class EqualsTextAssertion extends TextAssertion<EqualsTextAssertion
     @Override
     public void apply(AbstractStringAssert<? extends AbstractStringAssert<?>> assertion) {
         if (this.ignoreNewLines) {
-            Comparator<String> baseComparator = (s1, s2) ->
-                    normalizeNewLines(s1, this.ignoreCase).compareTo(
-                            normalizeNewLines(s2, this.ignoreCase)
-                    );
-
+            Comparator<String> baseComparator = this.ignoreCase ? IGNORING_NEW_LINES_AND_CASE : IGNORING_NEW_LINES;
             assertion.usingComparator(Comparator.nullsFirst(baseComparator)).isEqualTo(this.expected);
         } else {
             if (this.ignoreCase) assertion.isEqualToIgnoringCase(this.expected);
@@ -44,11 +42,73 @@ public final class EqualsTextAssertion extends TextAssertion<EqualsTextAssertion
         }
     }
 
-    private static String normalizeNewLines(String s, boolean ignoreCase) {
-        if (s == null) return null;
-        String withoutNewlines = s.replaceAll("\\R", " ")  // replaces any newline with a space
-                .replaceAll("\\s+", " ") // collapse multiple spaces
-                .trim(); // optional: remove leading/trailing spaces
-        return ignoreCase ? withoutNewlines.toLowerCase() : withoutNewlines;
+    @Override
+    public boolean test(CharSequence actual) {
+        if (actual == null || this.expected == null)
+            return actual == null && this.expected == null;
+
+        if (this.ignoreNewLines) return compareIgnoringNewLines(actual, this.expected, this.ignoreCase) == 0;
+        else if (this.ignoreCase) return this.expected.equalsIgnoreCase(actual.toString());
+        else return this.expected.contentEquals(actual);
+    }
+
+    private static final Comparator<String> IGNORING_NEW_LINES = (s1, s2) -> compareIgnoringNewLines(s1, s2, false);
+    private static final Comparator<String> IGNORING_NEW_LINES_AND_CASE = (s1, s2) -> compareIgnoringNewLines(s1, s2, true);
+
+    /**
+     * Compares texts as if every run of whitespace or line breaks was replaced by single space and both texts were trimmed
+     * (and lower-cased when {@code ignoreCase}), walking both sequences at once without building normalized copies.
+     */
+    static int compareIgnoringNewLines(CharSequence s1, CharSequence s2, boolean ignoreCase) {
+        int end1 = trimmedEnd(s1), end2 = trimmedEnd(s2);
+        int i = trimmedStart(s1, end1), j = trimmedStart(s2, end2);
+
+        while (i < end1 && j < end2) {
+            char c1 = s1.charAt(i), c2 = s2.charAt(j);
+            if (isSpaceOrNewLine(c1)) {
+                c1 = ' ';
+                i = skipSpacesAndNewLines(s1, i, end1);
+            } else i++;
+            if (isSpaceOrNewLine(c2)) {
+                c2 = ' ';
+                j = skipSpacesAndNewLines(s2, j, end2);
+            } else j++;
+
+            if (c1 != c2 && ignoreCase) {
+                c1 = Character.toLowerCase(c1);
+                c2 = Character.toLowerCase(c2);
+            }
+            if (c1 != c2) return c1 - c2;
+        }
+        return (end1 - i) - (end2 - j);
+    }
+
+    /**
+     * Line breaks matched by {@code \R} and whitespace matched by {@code \s}
+     */
+    private static boolean isSpaceOrNewLine(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r') || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * Same as {@link String#trim()} applied after line breaks are replaced with spaces
+     */
+    private static boolean isTrimmed(char c) {return c <= ' ' || isSpaceOrNewLine(c);}
+
+    private static int skipSpacesAndNewLines(CharSequence s, int from, int end) {
+        while (from < end && isSpaceOrNewLine(s.charAt(from))) from++;
+        return from;
+    }
+
+    private static int trimmedStart(CharSequence s, int end) {
+        int start = 0;
+        while (start < end && isTrimmed(s.charAt(start))) start++;
+        return start;
+    }
+
+    private static int trimmedEnd(CharSequence s) {
+        int end = s.length();
+        while (end > 0 && isTrimmed(s.charAt(end - 1))) end--;
+        return end;
     }
 }
@@ -3,11 +3,24 @@ package io.github.michalbrylka.excelassertion.assertions.text;
 import org.assertj.core.api.AbstractStringAssert;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 public final class PatternTextAssertion extends TextAssertion<PatternTextAssertion> {
+    private static final int CACHE_SIZE = 256;
+    private static final Map<PatternKey, Pattern> COMPILED_PATTERNS = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<PatternKey, Pattern> eldest) {return size() > CACHE_SIZE;}
+    });
+
+    private record PatternKey(String pattern, int flags) {}
+
     final String pattern;
     boolean dotallMode;
+    private volatile Pattern compiledPattern;
 
     /**
      * Enables dotall mode.
@@ -21,12 +34,16 @@ public final class PatternTextAssertion extends TextAssertion<PatternTextAsserti
      * "single-line" mode, which is what this is called in Perl.)  </p>
      */
     public PatternTextAssertion dotallMode() {
+        checkNotFrozen();
         this.dotallMode = true;
+        onOptionsChanged();
         return this;
     }
 
     public PatternTextAssertion noDotallMode() {
+        checkNotFrozen();
         this.dotallMode = false;
+        onOptionsChanged();
         return this;
     }
 
@@ -38,6 +55,30 @@ public final class PatternTextAssertion extends TextAssertion<PatternTextAsserti
 
         this.pattern = pattern;
         this.dotallMode = dotallMode;
+        onOptionsChanged();
+    }
+
+    @Override
+    protected void onOptionsChanged() {compiledPattern = null;}
+
+    /**
+     * Pattern is compiled on first use, so that invalid one fails when asserted, not when assertion is built.
+     * Compiled pattern is shared between all assertions with same pattern and flags.
+     *
+     * @throws PatternSyntaxException when pattern is invalid
+     */
+    private Pattern compiledPattern() {
+        Pattern compiled = compiledPattern;
+        if (compiled == null) {
+            int flags = 0;
+            if (this.ignoreCase) flags |= Pattern.CASE_INSENSITIVE;
+            if (this.dotallMode) flags |= Pattern.DOTALL;
+
+            //flags |= Pattern.COMMENTS;
+
+            compiledPattern = compiled = COMPILED_PATTERNS.computeIfAbsent(new PatternKey(pattern, flags), key -> Pattern.compile(key.pattern(), key.flags()));
+        }
+        return compiled;
     }
 
     @Override
@@ -46,14 +87,16 @@ public final class PatternTextAssertion extends TextAssertion<PatternTextAsserti
     }
 
     @Override
-    public void apply(AbstractStringAssert<?> assertion) {
-        int flags = 0;
-        if (this.ignoreCase) flags |= Pattern.CASE_INSENSITIVE;
-        if (this.dotallMode) flags |= Pattern.DOTALL;
-
-        //flags |= Pattern.COMMENTS;
+    public boolean test(CharSequence actual) {
+        try {
+            return actual != null && compiledPattern().matcher(actual).matches();
+        } catch (PatternSyntaxException e) {
+            return false; // apply reports it
+        }
+    }
 
-        Pattern pattern = Pattern.compile(this.pattern, flags);
-        assertion.matches(pattern);
+    @Override
+    public void apply(AbstractStringAssert<?> assertion) {
+        assertion.matches(compiledPattern());
     }
 }
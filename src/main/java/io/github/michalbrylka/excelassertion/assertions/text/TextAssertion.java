@@ -2,6 +2,7 @@ package io.github.michalbrylka.excelassertion.assertions.text;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.*;
 import org.assertj.core.api.AbstractStringAssert;
 
@@ -12,21 +13,46 @@ import java.util.*;
 @com.fasterxml.jackson.databind.annotation.JsonDeserialize(using = TextAssertion.TextAssertionDeserializer.class)
 public sealed abstract class TextAssertion<TAssertion extends TextAssertion<TAssertion>> permits ContainsTextAssertion, EqualsTextAssertion, PatternTextAssertion {
     boolean ignoreCase;
+    private boolean frozen;
 
     protected TextAssertion(boolean ignoreCase) {
         this.ignoreCase = ignoreCase;
     }
 
     public TAssertion ignoreCase() {
+        checkNotFrozen();
         this.ignoreCase = true;
+        onOptionsChanged();
         return self();
     }
 
     public TAssertion caseSensitive() {
+        checkNotFrozen();
         this.ignoreCase = false;
+        onOptionsChanged();
         return self();
     }
 
+    /**
+     * Makes options of this assertion unmodifiable, so that single instance can be shared by many cells
+     */
+    public TAssertion freeze() {
+        this.frozen = true;
+        return self();
+    }
+
+    public boolean isFrozen() {return frozen;}
+
+    protected void checkNotFrozen() {
+        if (frozen)
+            throw new IllegalStateException("Frozen assertion cannot be changed: " + this);
+    }
+
+    /**
+     * Called after any matching option has changed, so that state derived from options can be recomputed
+     */
+    protected void onOptionsChanged() {}
+
     @Override
     public abstract String toString();
 
@@ -37,19 +63,22 @@ public sealed abstract class TextAssertion<TAssertion extends TextAssertion<TAss
 
     public abstract void apply(AbstractStringAssert<? extends AbstractStringAssert<?>> assertion);
 
+    /**
+     * Checks text without AssertJ machinery. {@code true} guarantees that {@link #apply} passes for the same text,
+     * {@code false} means {@link #apply} should be run to report the failure.
+     */
+    public abstract boolean test(CharSequence actual);
+
     private static final String IGNORE_CASE = "ignoreCase";
     private static final String IGNORE_NEW_LINES = "ignoreNewLines";
     private static final String DOTALL = "dotall";
 
-    private static final Set<String> ALL_OPERATION_KEYS = Set.of("eq", "=", "==", "has", "∋", "like");
-    private static final Set<String> ALL_OPTION_KEYS = Set.of(IGNORE_CASE, IGNORE_NEW_LINES, DOTALL);
-    private static final Set<String> ALL_ALLOWED_KEYS;
+    private enum Operation {EQUALS, CONTAINS, PATTERN}
 
-    static {
-        Set<String> combined = new HashSet<>(ALL_OPERATION_KEYS);
-        combined.addAll(ALL_OPTION_KEYS);
-        ALL_ALLOWED_KEYS = Collections.unmodifiableSet(combined);
-    }
+    private static final Map<String, Operation> OPERATIONS = Map.of(
+            "eq", Operation.EQUALS, "=", Operation.EQUALS, "==", Operation.EQUALS,
+            "has", Operation.CONTAINS, "∋", Operation.CONTAINS,
+            "like", Operation.PATTERN);
 
     static class TextAssertionSerializer extends JsonSerializer<TextAssertion<?>> {
         @Override
@@ -82,56 +111,50 @@ public sealed abstract class TextAssertion<TAssertion extends TextAssertion<TAss
         }
     }
 
+    /**
+     * Reads tokens of the object directly, without building a tree
+     */
     static class TextAssertionDeserializer extends JsonDeserializer<TextAssertion<?>> {
 
         @Override
         public TextAssertion<?> deserialize(JsonParser p, DeserializationContext ctx) throws IOException {
-            JsonNode node = p.getCodec().readTree(p);
-
-            // Validate all field names
-            Iterator<String> fieldNames = node.fieldNames();
-            Set<String> presentFields = new HashSet<>();
-            while (fieldNames.hasNext()) {
-                String field = fieldNames.next();
-                if (!ALL_ALLOWED_KEYS.contains(field))
-                    throw new JsonMappingException(p, "Unknown field: " + field);
-                presentFields.add(field);
+            if (p.currentToken() != JsonToken.START_OBJECT)
+                throw new JsonMappingException(p, "Expected start of object");
+
+            String operationKey = null;
+            String argument = null;
+            boolean ignoreCase = false, ignoreNewLines = false, dotallMode = false;
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken valueToken = p.nextToken();
+                switch (field) {
+                    case IGNORE_CASE -> ignoreCase = p.getValueAsBoolean(false);
+                    case IGNORE_NEW_LINES -> ignoreNewLines = p.getValueAsBoolean(false);
+                    case DOTALL -> dotallMode = p.getValueAsBoolean(false);
+                    default -> {
+                        if (!OPERATIONS.containsKey(field))
+                            throw new JsonMappingException(p, "Unknown field: " + field);
+                        if (operationKey != null)
+                            throw new JsonMappingException(p, "Exactly one operation key must be present, found: [%s, %s]".formatted(operationKey, field));
+                        operationKey = field;
+                        if (valueToken == JsonToken.START_OBJECT || valueToken == JsonToken.START_ARRAY)
+                            throw new JsonMappingException(p, "The value for '%s' must be text".formatted(field));
+                        argument = p.getValueAsString();
+                        if (argument == null)
+                            throw new JsonMappingException(p, "The value for '%s' must not be null".formatted(field));
+                    }
+                }
             }
 
-            // Find exactly one operation
-            List<String> presentOps = ALL_OPERATION_KEYS.stream()
-                    .filter(presentFields::contains)
-                    .toList();
-
-            if (presentOps.size() != 1)
-                throw new JsonMappingException(p, "Exactly one operation key must be present, found: " + presentOps);
-
-            // Read boolean options with default `false`
-            boolean ignoreCase = node.path(IGNORE_CASE).asBoolean(false);
-            boolean ignoreNewLines = node.path(IGNORE_NEW_LINES).asBoolean(false);
-            boolean dotallMode = node.path(DOTALL).asBoolean(false);
-
+            if (operationKey == null)
+                throw new JsonMappingException(p, "Exactly one operation key must be present, found: []");
 
-            // Deserialize based on operation
-            String op = presentOps.getFirst();
-            if (!(node.get(op) instanceof JsonNode argumentNode) || argumentNode.isNull())
-                throw new JsonMappingException(p, "The value for '%s' must not be null".formatted(op));
-
-            return switch (op) {
-                case "eq", "=", "==" -> {
-                    String expected = argumentNode.asText();
-                    yield new EqualsTextAssertion(expected, ignoreCase, ignoreNewLines);
-                }
-                case "has", "∋" -> {
-                    String substring = argumentNode.asText();
-                    yield new ContainsTextAssertion(substring, ignoreCase);
-                }
-                case "like" -> {
-                    String pattern = argumentNode.asText();
-                    yield new PatternTextAssertion(pattern, ignoreCase, dotallMode);
-                }
-                default -> throw new JsonMappingException(p, "Unhandled operation key: " + op);
+            return switch (OPERATIONS.get(operationKey)) {
+                case EQUALS -> new EqualsTextAssertion(argument, ignoreCase, ignoreNewLines);
+                case CONTAINS -> new ContainsTextAssertion(argument, ignoreCase);
+                case PATTERN -> new PatternTextAssertion(argument, ignoreCase, dotallMode);
             };
         }
     }
-}
\ No newline at end of file
+}
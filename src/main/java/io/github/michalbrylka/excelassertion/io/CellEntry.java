@@ -4,7 +4,7 @@ import org.jetbrains.annotations.NotNull;
 
 public sealed interface CellEntry<T> permits
         BooleanCellEntry, DateCellEntry, ErrorCellEntry, FormulaCellEntry,
-        NoValueCellEntry, NumberCellEntry, TextCellEntry {
+        NoValueCellEntry, NumberCellEntry, PrimitiveNumberCellEntry, TextCellEntry {
 
     @NotNull String address();
 
@@ -0,0 +1,34 @@
+package io.github.michalbrylka.excelassertion.io;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Callback receiving cells one at a time from {@link StreamingWorkbookReader}.
+ * <p>
+ * Cells of a sheet are delivered in the order they are stored in the file (row-major for files written by Excel or POI),
+ * between {@link #startSheet(String, int)} and {@link #endSheet(String, int)}.
+ */
+@FunctionalInterface
+public interface CellEntryHandler {
+
+    /**
+     * Called before the first cell of a sheet is delivered.
+     *
+     * @return {@code false} to skip the sheet entirely - none of its cells are parsed and {@link #endSheet(String, int)} is not called
+     */
+    default boolean startSheet(@NotNull String sheetName, int sheetIndex) {return true;}
+
+    /**
+     * Cheap filter consulted before a cell is converted to {@link CellEntry}. When a cell is accepted,
+     * the next call made on this handler is {@link #cell(CellEntry)} for that very cell.
+     *
+     * @param rowIndex    0-based row index
+     * @param columnIndex 0-based column index
+     * @return {@code false} to skip the cell without resolving its value, format or comment
+     */
+    default boolean acceptCell(int rowIndex, int columnIndex) {return true;}
+
+    void cell(@NotNull CellEntry<?> cellEntry);
+
+    default void endSheet(@NotNull String sheetName, int sheetIndex) {}
+}
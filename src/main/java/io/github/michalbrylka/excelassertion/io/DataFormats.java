@@ -0,0 +1,36 @@
+package io.github.michalbrylka.excelassertion.io;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Data formats used by cell styles of single workbook, indexed by data format index. Format string and date detection
+ * are resolved once per distinct format instead of once per cell - workbooks usually have only a few dozen formats.
+ * Not thread safe.
+ */
+public final class DataFormats {
+    /**
+     * @param formatString format string of workbook or {@code null} when the index is not defined
+     * @param dateFormat   whether numbers displayed with the format are dates, same as {@link DateUtil#isADateFormat(int, String)}
+     */
+    public record DataFormat(short index, @Nullable String formatString, boolean dateFormat) {}
+
+    private DataFormat[] formats = new DataFormat[256];
+
+    public @NotNull DataFormat of(@NotNull CellStyle style) {
+        int index = style.getDataFormat() & 0xFFFF;
+        if (index >= formats.length)
+            formats = Arrays.copyOf(formats, Math.max(index + 1, formats.length * 2));
+
+        DataFormat format = formats[index];
+        if (format == null) {
+            String formatString = style.getDataFormatString();
+            format = formats[index] = new DataFormat(style.getDataFormat(), formatString, DateUtil.isADateFormat(index, formatString));
+        }
+        return format;
+    }
+}
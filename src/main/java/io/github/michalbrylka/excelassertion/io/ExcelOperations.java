@@ -1,60 +1,127 @@
 package io.github.michalbrylka.excelassertion.io;
 
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellReference;
+import org.jetbrains.annotations.NotNull;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
 
 public class ExcelOperations {
 
     public static List<SheetEntry> readWorkbook(Workbook workbook) {
         List<SheetEntry> sheetEntries = new ArrayList<>();
-        for (Sheet sheet : workbook) {
-            List<CellEntry<?>> sheetCells = new ArrayList<>();
+        readWorkbook(workbook, new CellEntryHandler() {
+            private List<CellEntry<?>> sheetCells;
+
+            @Override
+            public boolean startSheet(@NotNull String sheetName, int sheetIndex) {
+                sheetCells = new ArrayList<>();
+                return true;
+            }
+
+            @Override
+            public void cell(@NotNull CellEntry<?> cellEntry) {sheetCells.add(cellEntry);}
+
+            @Override
+            public void endSheet(@NotNull String sheetName, int sheetIndex) {sheetEntries.add(new SheetEntry(sheetName, sheetCells));}
+        });
+        return sheetEntries;
+    }
+
+    public static void readWorkbook(Workbook workbook, CellEntryHandler handler) {
+        var dataFormats = new DataFormats();
+        for (int sheetIndex = 0; sheetIndex < workbook.getNumberOfSheets(); sheetIndex++) {
+            Sheet sheet = workbook.getSheetAt(sheetIndex);
+            if (!handler.startSheet(sheet.getSheetName(), sheetIndex))
+                continue;
+
+            var comments = new SheetComments(sheet);
+
             for (Row row : sheet) {
                 for (Cell cell : row) {
-                    String address = cell.getAddress().formatAsString();
-                    String comment = (cell.getCellComment() != null) ? cell.getCellComment().getString().getString() : null;
-
-                    String format = cell.getCellStyle().getDataFormatString();
-
-                    CellEntry<?> cellEntry = switch (cell.getCellType()) {
-                        case STRING -> new TextCellEntry(address, cell.getStringCellValue(), format, comment);
-                        case NUMERIC -> DateUtil.isCellDateFormatted(cell)
-                                ? new DateCellEntry(address, cell.getLocalDateTimeCellValue(), format, comment)
-                                : new NumberCellEntry(address, cell.getNumericCellValue(), format, comment);
-
-                        case BOOLEAN -> new BooleanCellEntry(address, cell.getBooleanCellValue(), format, comment);
-
-                        case FORMULA -> {
-                            CellEntry<?> resultCellEntry = switch (cell.getCachedFormulaResultType()) {
-                                case STRING -> new TextCellEntry(address, cell.getStringCellValue(), format, comment);
-                                case NUMERIC -> DateUtil.isCellDateFormatted(cell)
-                                        ? new DateCellEntry(address, cell.getLocalDateTimeCellValue(), format, comment)
-                                        : new NumberCellEntry(address, cell.getNumericCellValue(), format, comment);
-                                case BOOLEAN ->
-                                        new BooleanCellEntry(address, cell.getBooleanCellValue(), format, comment);
-                                case BLANK -> new NoValueCellEntry(address, format, comment);
-                                case ERROR ->
-                                        new ErrorCellEntry(address, FormulaError.forInt(cell.getErrorCellValue()).getString(), format, comment);
-
-                                default ->
-                                        throw new IllegalArgumentException("Formula cell @%s contains content type %s that is not supported".formatted(address, cell.getCachedFormulaResultType()));
-                            };
-                            yield FormulaCellEntry.ofValue(resultCellEntry, cell.getCellFormula());
-                        }
-                        case ERROR ->
-                                new ErrorCellEntry(address, FormulaError.forInt(cell.getErrorCellValue()).getString(), format, comment);
-                        case BLANK -> new NoValueCellEntry(address, format, comment);
-                        case _NONE -> null;// Should not happen with typical Excel files, but handles completeness.
-                    };
-                    if (cellEntry != null)
-                        sheetCells.add(cellEntry);
+                    if (handler.acceptCell(cell.getRowIndex(), cell.getColumnIndex()) &&
+                        toCellEntry(cell, dataFormats, comments) instanceof CellEntry<?> cellEntry)
+                        handler.cell(cellEntry);
                 }
             }
-            sheetEntries.add(new SheetEntry(sheet.getSheetName(), sheetCells));
+            handler.endSheet(sheet.getSheetName(), sheetIndex);
         }
-        return sheetEntries;
+    }
+
+    /**
+     * Reads workbook cell by cell without materializing it. OOXML files are streamed with {@link StreamingWorkbookReader},
+     * other formats (i.e. .xls) are opened read-only and traversed.
+     */
+    public static void readWorkbook(File file, CellEntryHandler handler) throws IOException {
+        if (FileMagic.valueOf(file) == FileMagic.OOXML) {
+            try (var reader = StreamingWorkbookReader.open(file)) {
+                reader.read(handler);
+            }
+        } else {
+            try (var workbook = WorkbookFactory.create(file, null, true)) {
+                readWorkbook(workbook, handler);
+            }
+        }
+    }
+
+    public static CellEntry<?> toCellEntry(Cell cell) {
+        return toCellEntry(cell, new DataFormats(), SheetComments.getText(cell.getCellComment()));
+    }
+
+    /**
+     * @param dataFormats formats of the cell's workbook, shared by all cells read from it
+     * @param comments    comments of the cell's sheet, shared by all cells read from it
+     */
+    public static CellEntry<?> toCellEntry(Cell cell, DataFormats dataFormats, SheetComments comments) {
+        return toCellEntry(cell, dataFormats, comments.at(cell.getRowIndex(), cell.getColumnIndex()));
+    }
+
+    private static CellEntry<?> toCellEntry(Cell cell, DataFormats dataFormats, String comment) {
+        String address = cell.getAddress().formatAsString();
+
+        var dataFormat = dataFormats.of(cell.getCellStyle());
+        String format = dataFormat.formatString();
+
+        return switch (cell.getCellType()) {
+            case STRING -> new TextCellEntry(address, cell.getStringCellValue(), format, comment);
+            case NUMERIC -> isDate(cell.getNumericCellValue(), dataFormat)
+                    ? new DateCellEntry(address, cell.getLocalDateTimeCellValue(), format, comment)
+                    : new PrimitiveNumberCellEntry(address, cell.getNumericCellValue(), format, comment);
+
+            case BOOLEAN -> new BooleanCellEntry(address, cell.getBooleanCellValue(), format, comment);
+
+            case FORMULA -> {
+                CellEntry<?> resultCellEntry = switch (cell.getCachedFormulaResultType()) {
+                    case STRING -> new TextCellEntry(address, cell.getStringCellValue(), format, comment);
+                    case NUMERIC -> isDate(cell.getNumericCellValue(), dataFormat)
+                            ? new DateCellEntry(address, cell.getLocalDateTimeCellValue(), format, comment)
+                            : new PrimitiveNumberCellEntry(address, cell.getNumericCellValue(), format, comment);
+                    case BOOLEAN ->
+                            new BooleanCellEntry(address, cell.getBooleanCellValue(), format, comment);
+                    case BLANK -> new NoValueCellEntry(address, format, comment);
+                    case ERROR ->
+                            new ErrorCellEntry(address, FormulaError.forInt(cell.getErrorCellValue()).getString(), format, comment);
+
+                    default ->
+                            throw new IllegalArgumentException("Formula cell @%s contains content type %s that is not supported".formatted(address, cell.getCachedFormulaResultType()));
+                };
+                yield FormulaCellEntry.ofValue(resultCellEntry, cell.getCellFormula());
+            }
+            case ERROR ->
+                    new ErrorCellEntry(address, FormulaError.forInt(cell.getErrorCellValue()).getString(), format, comment);
+            case BLANK -> new NoValueCellEntry(address, format, comment);
+            case _NONE -> null;// Should not happen with typical Excel files, but handles completeness.
+        };
+    }
+
+    /**
+     * Same as {@link DateUtil#isCellDateFormatted(Cell)} with format already resolved
+     */
+    private static boolean isDate(double value, DataFormats.DataFormat dataFormat) {
+        return dataFormat.dateFormat() && DateUtil.isValidExcelDate(value);
     }
 
     public static void fillWorkbook(Workbook workbook, List<SheetEntry> sheetEntries) {
@@ -80,7 +147,8 @@ public class ExcelOperations {
 
                 switch (cellEntry) {
                     case TextCellEntry stringEntry -> cell.setCellValue(stringEntry.value());
-                    case NumberCellEntry numericEntry -> cell.setCellValue(numericEntry.value());
+                    case NumberCellEntry numericEntry -> cell.setCellValue(numericEntry.doubleValue());
+                    case PrimitiveNumberCellEntry numericEntry -> cell.setCellValue(numericEntry.doubleValue());
                     case BooleanCellEntry booleanEntry -> cell.setCellValue(booleanEntry.value());
                     case DateCellEntry dateEntry -> cell.setCellValue(dateEntry.value());
                     case ErrorCellEntry errorEntry ->
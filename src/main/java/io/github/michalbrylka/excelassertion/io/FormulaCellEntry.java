@@ -8,17 +8,19 @@ public final class FormulaCellEntry<T> implements CellEntry<T> {
     private final T value;
     private final String format;
     private final String comment;
+    private final CellEntry<T> result;
 
-    private FormulaCellEntry(@NotNull String address, @NotNull String formula, T value, String format, String comment) {
+    private FormulaCellEntry(@NotNull String address, @NotNull String formula, T value, String format, String comment, CellEntry<T> result) {
         this.address = address;
         this.formula = formula;
         this.value = value;
         this.format = format;
         this.comment = comment;
+        this.result = result;
     }
 
     public static <T> FormulaCellEntry<T> ofValue(@NotNull CellEntry<T> resultCell, @NotNull String formula) {
-        return new FormulaCellEntry<>(resultCell.address(), formula, resultCell.value(), resultCell.format(), resultCell.comment());
+        return new FormulaCellEntry<>(resultCell.address(), formula, resultCell.value(), resultCell.format(), resultCell.comment(), resultCell);
     }
 
     public static FormulaCellEntry<Object> ofNoValue(@NotNull String address, @NotNull String formula) {return ofNoValue(address, formula, null);}
@@ -26,7 +28,7 @@ public final class FormulaCellEntry<T> implements CellEntry<T> {
     public static FormulaCellEntry<Object> ofNoValue(@NotNull String address, @NotNull String formula, String format) {return ofNoValue(address, formula, format, null);}
 
     public static FormulaCellEntry<Object> ofNoValue(@NotNull String address, @NotNull String formula, String format, String comment) {
-        return new FormulaCellEntry<>(address, formula, null, format, comment);
+        return new FormulaCellEntry<>(address, formula, null, format, comment, null);
     }
 
     @Override
@@ -42,4 +44,9 @@ public final class FormulaCellEntry<T> implements CellEntry<T> {
 
     @Override
     public String comment() {return comment;}
+
+    /**
+     * @return cached result of formula (i.e. {@link TextCellEntry} or {@link ErrorCellEntry}) or null when formula has no stored result
+     */
+    public CellEntry<T> result() {return result;}
 }
\ No newline at end of file
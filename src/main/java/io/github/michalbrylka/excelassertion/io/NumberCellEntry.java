@@ -16,4 +16,9 @@ public record NumberCellEntry(
     public NumberCellEntry(@NotNull String address, @NotNull Double value, String format) {
         this(address, value, format, null);
     }
+
+    /**
+     * Value as primitive, for comparisons on hot paths
+     */
+    public double doubleValue() {return value;}
 }
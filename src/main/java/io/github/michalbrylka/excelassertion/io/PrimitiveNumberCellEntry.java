@@ -0,0 +1,44 @@
+package io.github.michalbrylka.excelassertion.io;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Number entry emitted by readers. Same as {@link NumberCellEntry}, but the value is stored as primitive,
+ * so reading numeric-heavy sheets does not box each cell - {@link #value()} boxes only when called.
+ */
+@lombok.EqualsAndHashCode
+@lombok.ToString
+public final class PrimitiveNumberCellEntry implements CellEntry<Double> {
+    private final @NotNull String address;
+    private final double value;
+    private final String format;
+    private final String comment;
+
+    public PrimitiveNumberCellEntry(@NotNull String address, double value, String format, String comment) {
+        this.address = address;
+        this.value = value;
+        this.format = format;
+        this.comment = comment;
+    }
+
+    public PrimitiveNumberCellEntry(@NotNull String address, double value) {
+        this(address, value, null, null);
+    }
+
+    @Override
+    public @NotNull String address() {return address;}
+
+    @Override
+    public Double value() {return value;}
+
+    /**
+     * Value as primitive, for comparisons on hot paths
+     */
+    public double doubleValue() {return value;}
+
+    @Override
+    public String format() {return format;}
+
+    @Override
+    public String comment() {return comment;}
+}
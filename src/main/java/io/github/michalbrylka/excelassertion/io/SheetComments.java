@@ -0,0 +1,51 @@
+package io.github.michalbrylka.excelassertion.io;
+
+import org.apache.poi.ss.usermodel.Comment;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellAddress;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Comment texts of single sheet by cell address. All comments are read from the sheet at once on first lookup,
+ * instead of searching for comment of each cell - which scans drawing records of .xls sheets.
+ * Not thread safe.
+ */
+public final class SheetComments {
+    private final @NotNull Sheet sheet;
+    private Map<Long, String> texts;
+
+    public SheetComments(@NotNull Sheet sheet) {this.sheet = sheet;}
+
+    public @Nullable String at(int rowIndex, int columnIndex) {
+        if (texts == null)
+            texts = readComments(sheet);
+        return texts.isEmpty() ? null : texts.get(toKey(rowIndex, columnIndex));
+    }
+
+    public static @Nullable String getText(@Nullable Comment comment) {
+        return comment != null &&
+               comment.getString() instanceof RichTextString richTextString &&
+               richTextString.getString() instanceof String commentText
+                ? commentText
+                : null;
+    }
+
+    private static Map<Long, String> readComments(Sheet sheet) {
+        Map<CellAddress, ? extends Comment> comments = sheet.getCellComments();
+        if (comments.isEmpty())
+            return Map.of();
+
+        Map<Long, String> texts = new HashMap<>(comments.size() * 2);
+        for (var comment : comments.entrySet())
+            if (getText(comment.getValue()) instanceof String text)
+                texts.put(toKey(comment.getKey().getRow(), comment.getKey().getColumn()), text);
+        return texts;
+    }
+
+    private static long toKey(int rowIndex, int columnIndex) {return ((long) rowIndex << 32) | columnIndex;}
+}
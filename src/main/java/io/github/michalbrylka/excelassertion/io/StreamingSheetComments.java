@@ -0,0 +1,56 @@
+package io.github.michalbrylka.excelassertion.io;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackageRelationshipCollection;
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.xssf.model.Comments;
+import org.apache.poi.xssf.model.CommentsTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Comment texts of single sheet read by {@link StreamingWorkbookReader}. Comments part is parsed on first lookup,
+ * so sheets whose comments are never asked for do not pay for it.
+ * Not thread safe.
+ */
+public final class StreamingSheetComments {
+    private final @NotNull PackagePart sheetPart;
+    private Comments comments;
+    private boolean loaded;
+
+    StreamingSheetComments(@NotNull PackagePart sheetPart) {this.sheetPart = sheetPart;}
+
+    /**
+     * @throws UncheckedIOException when comments part cannot be read
+     */
+    public @Nullable String at(int rowIndex, int columnIndex) {
+        if (!loaded) {
+            comments = loadComments(sheetPart);
+            loaded = true;
+        }
+        if (comments == null)
+            return null;
+        XSSFComment comment = comments.findCellComment(new CellAddress(rowIndex, columnIndex));
+        return comment != null && comment.getString() != null ? comment.getString().getString() : null;
+    }
+
+    private static Comments loadComments(PackagePart sheetPart) {
+        try {
+            PackageRelationshipCollection commentsRelations = sheetPart.getRelationshipsByType(XSSFRelation.SHEET_COMMENTS.getRelation());
+            if (commentsRelations.isEmpty())
+                return null;
+
+            PackagePart commentsPart = sheetPart.getRelatedPart(commentsRelations.getRelationship(0));
+            Comments comments = commentsPart == null ? null : new CommentsTable(commentsPart);
+            return comments == null || comments.getNumberOfComments() == 0 ? null : comments;
+        } catch (OpenXML4JException | IOException e) {
+            throw new UncheckedIOException(new IOException("Cannot read comments of sheet part " + sheetPart.getPartName(), e));
+        }
+    }
+}
@@ -0,0 +1,539 @@
+package io.github.michalbrylka.excelassertion.io;
+
+import org.apache.poi.ooxml.POIXMLException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.formula.FormulaParser;
+import org.apache.poi.ss.formula.FormulaRenderer;
+import org.apache.poi.ss.formula.FormulaType;
+import org.apache.poi.ss.formula.ptg.Ptg;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFEvaluationWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.jetbrains.annotations.NotNull;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.*;
+
+/**
+ * Reads OOXML workbooks (.xlsx, .xlsm) sheet by sheet using the XSSF event model ({@link XSSFReader} and a SAX sheet handler).
+ * <p>
+ * Cells are converted to the same {@link CellEntry} records that {@link ExcelOperations#readWorkbook(org.apache.poi.ss.usermodel.Workbook)}
+ * produces and handed over to a {@link CellEntryHandler} one at a time, so memory usage does not depend on the number of cells.
+ * Only shared strings, styles and - for a sheet being read, once first cell is looked up - its comments are kept in memory.
+ * <p>
+ * Formulas of cells sharing a formula with another cell are rendered by POI same as in the DOM reader, against a workbook stub
+ * with the same sheet names. Known difference to the DOM reader: shared formulas that cannot be parsed without the real workbook
+ * (i.e. referring to defined names) are translated textually, so their text may differ in whitespace from what POI renders.
+ * <p>
+ * Different sheets can be read concurrently - state shared between sheets is only read once it is loaded.
+ */
+public final class StreamingWorkbookReader implements AutoCloseable {
+    private final OPCPackage pkg;
+    private final SharedStrings sharedStrings;
+    private final String[] formatStrings;
+    private final boolean[] dateFormats;
+    private final boolean date1904;
+    private final List<String> sheetNames = new ArrayList<>();
+    private final List<PackagePart> sheetParts = new ArrayList<>();
+
+    private StreamingWorkbookReader(OPCPackage pkg) throws IOException {
+        this.pkg = pkg;
+        try {
+            XSSFReader xssfReader = new XSSFReader(pkg);
+            this.sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+            StylesTable styles = xssfReader.getStylesTable();
+            int styleCount = styles == null ? 0 : styles.getNumCellStyles();
+            this.formatStrings = new String[styleCount];
+            this.dateFormats = new boolean[styleCount];
+            for (int i = 0; i < styleCount; i++) {
+                XSSFCellStyle style = styles.getStyleAt(i);
+                formatStrings[i] = style == null ? "General" : style.getDataFormatString();
+                dateFormats[i] = style != null && DateUtil.isADateFormat(style.getDataFormat(), formatStrings[i]);
+            }
+            try (InputStream workbookData = xssfReader.getWorkbookData()) {
+                this.date1904 = readDate1904(workbookData);
+            }
+
+            XSSFReader.SheetIterator sheets = xssfReader.getSheetIterator();
+            while (sheets.hasNext()) {
+                sheets.next().close();
+                sheetNames.add(sheets.getSheetName());
+                sheetParts.add(sheets.getSheetPart());
+            }
+        } catch (OpenXML4JException | SAXException | POIXMLException e) {
+            throw new IOException("Cannot open workbook for streaming: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Opens the workbook read-only, reading zip entries straight from the file.
+     */
+    public static StreamingWorkbookReader open(@NotNull File file) throws IOException {
+        try {
+            OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ);
+            return openOrRevert(pkg);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Cannot open workbook '%s' for streaming: %s".formatted(file.getName(), e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Opens the workbook from stream. Note that zip entries of the package will be buffered in memory.
+     */
+    public static StreamingWorkbookReader open(@NotNull InputStream inputStream) throws IOException {
+        try {
+            OPCPackage pkg = OPCPackage.open(inputStream);
+            return openOrRevert(pkg);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Cannot open workbook for streaming: " + e.getMessage(), e);
+        }
+    }
+
+    private static StreamingWorkbookReader openOrRevert(OPCPackage pkg) throws IOException {
+        try {
+            return new StreamingWorkbookReader(pkg);
+        } catch (IOException | RuntimeException e) {
+            pkg.revert();
+            throw e;
+        }
+    }
+
+    public List<String> getSheetNames() {return Collections.unmodifiableList(sheetNames);}
+
+    public boolean isDate1904() {return date1904;}
+
+    /**
+     * Reads all sheets in workbook order.
+     */
+    public void read(@NotNull CellEntryHandler handler) throws IOException {
+        for (int i = 0; i < sheetNames.size(); i++)
+            readSheet(i, handler);
+    }
+
+    public void readSheet(int sheetIndex, @NotNull CellEntryHandler handler) throws IOException {
+        readSheet(sheetIndex, handler, getSheetComments(sheetIndex));
+    }
+
+    /**
+     * Reads sheet taking cell comments from given index, which caller may use later i.e. for cells not stored in the sheet.
+     */
+    public void readSheet(int sheetIndex, @NotNull CellEntryHandler handler, @NotNull StreamingSheetComments comments) throws IOException {
+        checkSheetIndex(sheetIndex);
+        String sheetName = sheetNames.get(sheetIndex);
+        if (!handler.startSheet(sheetName, sheetIndex))
+            return;
+
+        var sheetHandler = new SheetHandler(handler, sheetIndex, comments);
+        try (InputStream sheetData = sheetParts.get(sheetIndex).getInputStream()) {
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(sheetHandler);
+            xmlReader.parse(new InputSource(sheetData));
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new IOException("Cannot parse sheet '%s': %s".formatted(sheetName, e.getMessage()), e);
+        }
+
+        handler.endSheet(sheetName, sheetIndex);
+    }
+
+    /**
+     * Comments of sheet, not parsed until first lookup
+     */
+    public StreamingSheetComments getSheetComments(int sheetIndex) {
+        checkSheetIndex(sheetIndex);
+        return new StreamingSheetComments(sheetParts.get(sheetIndex));
+    }
+
+    @Override
+    public void close() {
+        pkg.revert(); // package is opened for reading only, nothing to save
+    }
+
+    private void checkSheetIndex(int sheetIndex) {
+        if (sheetIndex < 0 || sheetIndex >= sheetNames.size())
+            throw new IndexOutOfBoundsException("Sheet index %d is out of range 0..%d".formatted(sheetIndex, sheetNames.size() - 1));
+    }
+
+    private static boolean readDate1904(InputStream workbookData) throws IOException, SAXException {
+        boolean[] date1904 = {false};
+        try {
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(new DefaultHandler() {
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    if ("workbookPr".equals(localName) && attributes.getValue("date1904") instanceof String value)
+                        date1904[0] = "1".equals(value) || "true".equalsIgnoreCase(value);
+                }
+            });
+            xmlReader.parse(new InputSource(workbookData));
+        } catch (ParserConfigurationException e) {
+            throw new IOException(e);
+        }
+        return date1904[0];
+    }
+
+    private String getFormatString(int styleIndex) {
+        return styleIndex >= 0 && styleIndex < formatStrings.length ? formatStrings[styleIndex] : "General";
+    }
+
+    private boolean isDateFormat(int styleIndex) {
+        return styleIndex >= 0 && styleIndex < dateFormats.length && dateFormats[styleIndex];
+    }
+
+    private class SheetHandler extends DefaultHandler {
+        private final CellEntryHandler handler;
+        private final int sheetIndex;
+        private final StreamingSheetComments comments;
+        private final Map<String, SharedFormula> sharedFormulas = new HashMap<>();
+
+        private final StringBuilder value = new StringBuilder();
+        private final StringBuilder formula = new StringBuilder();
+        private final StringBuilder inlineText = new StringBuilder();
+
+        private int rowIndex = -1;
+        private int columnIndex = -1;
+        private String address;
+        private int styleIndex;
+        private String type;
+        private boolean hasValue, hasFormula;
+        private String sharedFormulaIndex;
+        private boolean inValue, inFormula, inInlineString, inInlineText, inPhonetic;
+
+        private XSSFEvaluationWorkbook formulaWorkbook;
+
+        SheetHandler(CellEntryHandler handler, int sheetIndex, StreamingSheetComments comments) {
+            this.handler = handler;
+            this.sheetIndex = sheetIndex;
+            this.comments = comments;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    String r = attributes.getValue("r");
+                    rowIndex = r == null ? rowIndex + 1 : Integer.parseInt(r) - 1;
+                    columnIndex = -1;
+                }
+                case "c" -> {
+                    address = attributes.getValue("r");
+                    if (address == null)
+                        columnIndex++;
+                    else
+                        parseAddress(address);
+                    String s = attributes.getValue("s");
+                    styleIndex = s == null ? 0 : Integer.parseInt(s);
+                    type = attributes.getValue("t");
+                    hasValue = hasFormula = false;
+                    sharedFormulaIndex = null;
+                    value.setLength(0);
+                    formula.setLength(0);
+                    inlineText.setLength(0);
+                }
+                case "v" -> {
+                    inValue = true;
+                    hasValue = true;
+                }
+                case "f" -> {
+                    inFormula = true;
+                    hasFormula = true;
+                    if ("shared".equals(attributes.getValue("t")))
+                        sharedFormulaIndex = attributes.getValue("si");
+                }
+                case "is" -> {
+                    inInlineString = true;
+                    hasValue = true;
+                }
+                case "rPh" -> inPhonetic = true;
+                case "t" -> inInlineText = inInlineString && !inPhonetic;
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue) value.append(ch, start, length);
+            else if (inFormula) formula.append(ch, start, length);
+            else if (inInlineText) inlineText.append(ch, start, length);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v" -> inValue = false;
+                case "f" -> inFormula = false;
+                case "is" -> inInlineString = false;
+                case "rPh" -> inPhonetic = false;
+                case "t" -> inInlineText = false;
+                case "c" -> {
+                    if (!handler.acceptCell(rowIndex, columnIndex)) {
+                        if (sharedFormulaIndex != null)
+                            resolveFormula(); // remember master formula for cells sharing it
+                    } else {
+                        if (address == null)
+                            address = new CellReference(rowIndex, columnIndex).formatAsString(false);
+                        if (createEntry() instanceof CellEntry<?> entry)
+                            handler.cell(entry);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        private void parseAddress(String reference) {
+            int column = 0, row = 0;
+            for (int i = 0; i < reference.length(); i++) {
+                char c = reference.charAt(i);
+                if (c >= 'A' && c <= 'Z') column = column * 26 + (c - 'A' + 1);
+                else if (c >= 'a' && c <= 'z') column = column * 26 + (c - 'a' + 1);
+                else if (c >= '0' && c <= '9') row = row * 10 + (c - '0');
+            }
+            rowIndex = row - 1;
+            columnIndex = column - 1;
+        }
+
+        private CellEntry<?> createEntry() {
+            String format = getFormatString(styleIndex);
+            String comment = getComment();
+
+            if (hasFormula) {
+                String formulaText = resolveFormula();
+                CellEntry<?> result = switch (type) {
+                    case "str" -> new TextCellEntry(address, hasValue ? value.toString() : "", format, comment);
+                    case "s" -> new TextCellEntry(address, hasValue && !value.isEmpty() ? getSharedString() : "", format, comment);
+                    case "d" -> hasValue && !value.isEmpty() ? new DateCellEntry(address, parseDate(value.toString()), format, comment) : null;
+                    case "b" -> new BooleanCellEntry(address, hasValue && "1".equals(value.toString()), format, comment);
+                    case "e" -> hasValue
+                            ? new ErrorCellEntry(address, FormulaError.forString(value.toString()).getString(), format, comment)
+                            : null;
+                    case null, default ->
+                            createNumericEntry(hasValue && !value.isEmpty() ? Double.parseDouble(value.toString()) : 0.0, format, comment);
+                };
+                return result == null
+                        ? FormulaCellEntry.ofNoValue(address, formulaText, format, comment)
+                        : FormulaCellEntry.ofValue(result, formulaText);
+            }
+
+            if (!hasValue || (value.isEmpty() && !"inlineStr".equals(type) && !"str".equals(type)))
+                return new NoValueCellEntry(address, format, comment);
+
+            return switch (type) {
+                case "s" -> new TextCellEntry(address, getSharedString(), format, comment);
+                case "inlineStr" -> new TextCellEntry(address, new XSSFRichTextString(inlineText.toString()).getString(), format, comment);
+                case "str" -> new TextCellEntry(address, value.toString(), format, comment);
+                case "b" -> new BooleanCellEntry(address, "1".equals(value.toString()), format, comment);
+                case "e" ->
+                        new ErrorCellEntry(address, FormulaError.forString(value.toString()).getString(), format, comment);
+                case "d" -> new DateCellEntry(address, parseDate(value.toString()), format, comment);
+                case null, default -> createNumericEntry(Double.parseDouble(value.toString()), format, comment);
+            };
+        }
+
+        private String getSharedString() {return sharedStrings.getItemAt(Integer.parseInt(value.toString())).getString();}
+
+        private CellEntry<?> createNumericEntry(double number, String format, String comment) {
+            return isDateFormat(styleIndex) && DateUtil.isValidExcelDate(number)
+                    ? new DateCellEntry(address, DateUtil.getLocalDateTime(number, date1904), format, comment)
+                    : new PrimitiveNumberCellEntry(address, number, format, comment);
+        }
+
+        private String resolveFormula() {
+            String formulaText = formula.toString();
+            if (sharedFormulaIndex == null)
+                return formulaText;
+
+            if (!formulaText.isEmpty())
+                sharedFormulas.put(sharedFormulaIndex, new SharedFormula(formulaText, rowIndex, columnIndex));
+
+            SharedFormula master = sharedFormulas.get(sharedFormulaIndex);
+            return master == null ? formulaText : renderSharedFormula(master);
+        }
+
+        /**
+         * Moves relative references of master formula to this cell the way {@link org.apache.poi.xssf.usermodel.XSSFCell#getCellFormula()} does
+         */
+        private String renderSharedFormula(SharedFormula master) {
+            int rowOffset = rowIndex - master.rowIndex, columnOffset = columnIndex - master.columnIndex;
+            try {
+                if (formulaWorkbook == null)
+                    formulaWorkbook = createFormulaWorkbook();
+                Ptg[] ptgs = FormulaParser.parse(master.formula, formulaWorkbook, FormulaType.CELL, sheetIndex, rowIndex);
+                var sharedFormula = new org.apache.poi.ss.formula.SharedFormula(SpreadsheetVersion.EXCEL2007);
+                return FormulaRenderer.toFormulaString(formulaWorkbook, sharedFormula.convertSharedFormulas(ptgs, rowOffset, columnOffset));
+            } catch (RuntimeException e) { // formula refers to something missing in workbook stub
+                return shiftFormula(master.formula, rowOffset, columnOffset);
+            }
+        }
+
+        private String getComment() {return comments.at(rowIndex, columnIndex);}
+    }
+
+    private record SharedFormula(String formula, int rowIndex, int columnIndex) {}
+
+    /**
+     * Value of {@code t="d"} cell is ISO 8601 date with optional time
+     */
+    private static LocalDateTime parseDate(String value) {return LocalDateTime.parse(value, ISO_DATE_OR_DATE_TIME);}
+
+    private static final DateTimeFormatter ISO_DATE_OR_DATE_TIME = new DateTimeFormatterBuilder()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE)
+            .optionalStart().appendLiteral('T').append(DateTimeFormatter.ISO_LOCAL_TIME).optionalEnd()
+            .parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
+            .toFormatter();
+
+    /**
+     * Empty workbook with sheets named as in the read one, enough to parse and render formulas referring to cells only.
+     * Created for each sheet separately, so that sheets read concurrently do not share it.
+     */
+    private XSSFEvaluationWorkbook createFormulaWorkbook() {
+        var workbook = new XSSFWorkbook();
+        sheetNames.forEach(workbook::createSheet);
+        return XSSFEvaluationWorkbook.create(workbook);
+    }
+
+    /**
+     * Moves relative A1 references and whole column or row ranges of a formula by given number of rows and columns, leaving absolute ($) parts,
+     * string literals and function names intact.
+     */
+    static String shiftFormula(String formula, int rowOffset, int columnOffset) {
+        if (rowOffset == 0 && columnOffset == 0)
+            return formula;
+
+        var result = new StringBuilder(formula.length() + 8);
+        int length = formula.length();
+        int i = 0;
+        while (i < length) {
+            char c = formula.charAt(i);
+            if (c == '"' || c == '\'') { // string literal or quoted sheet name - copy verbatim
+                int end = i + 1;
+                while (end < length) {
+                    if (formula.charAt(end) == c) {
+                        if (end + 1 < length && formula.charAt(end + 1) == c) end += 2;
+                        else break;
+                    } else end++;
+                }
+                end = Math.min(end + 1, length);
+                result.append(formula, i, end);
+                i = end;
+                continue;
+            }
+
+            boolean tokenStart = i == 0 || !isIdentifierPart(formula.charAt(i - 1));
+            if (tokenStart && (c == '$' || Character.isLetterOrDigit(c))) {
+                int end = matchReference(formula, i);
+                if (end > 0) {
+                    appendShiftedReference(result, formula.substring(i, end), rowOffset, columnOffset);
+                    i = end;
+                    continue;
+                }
+                end = matchLineRange(formula, i);
+                if (end > 0) {
+                    int colon = formula.indexOf(':', i);
+                    appendShiftedLine(result, formula.substring(i, colon), rowOffset, columnOffset);
+                    appendShiftedLine(result.append(':'), formula.substring(colon + 1, end), rowOffset, columnOffset);
+                    i = end;
+                    continue;
+                }
+                // not a reference: copy whole identifier so that its tail is not mistaken for a reference
+                int identifierEnd = i + 1;
+                while (identifierEnd < length && isIdentifierPart(formula.charAt(identifierEnd))) identifierEnd++;
+                result.append(formula, i, identifierEnd);
+                i = identifierEnd;
+                continue;
+            }
+
+            result.append(c);
+            i++;
+        }
+        return result.toString();
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '$';
+    }
+
+    private static int matchReference(String formula, int start) {
+        int i = start;
+        int length = formula.length();
+        if (i < length && formula.charAt(i) == '$') i++;
+        int lettersStart = i;
+        while (i < length && i - lettersStart < 3 && isAsciiLetter(formula.charAt(i))) i++;
+        if (i == lettersStart) return -1;
+        if (i < length && formula.charAt(i) == '$') i++;
+        int digitsStart = i;
+        while (i < length && Character.isDigit(formula.charAt(i))) i++;
+        if (i == digitsStart) return -1;
+        if (i < length && (isIdentifierPart(formula.charAt(i)) || formula.charAt(i) == '(' || formula.charAt(i) == '!'))
+            return -1;
+        return i;
+    }
+
+    /**
+     * @return end of whole column ({@code A:C}) or whole row ({@code 1:3}) range starting at given index, -1 when there is none
+     */
+    private static int matchLineRange(String formula, int start) {
+        for (boolean columns : new boolean[]{true, false}) {
+            int colon = matchLine(formula, start, columns);
+            if (colon < 0 || colon >= formula.length() || formula.charAt(colon) != ':') continue;
+            int end = matchLine(formula, colon + 1, columns);
+            if (end > 0 && (end == formula.length() || !isIdentifierPart(formula.charAt(end)) && formula.charAt(end) != '(' && formula.charAt(end) != '!'))
+                return end;
+        }
+        return -1;
+    }
+
+    private static int matchLine(String formula, int start, boolean column) {
+        int i = start;
+        int length = formula.length();
+        if (i < length && formula.charAt(i) == '$') i++;
+        int nameStart = i;
+        while (i < length && (column ? i - nameStart < 3 && isAsciiLetter(formula.charAt(i)) : Character.isDigit(formula.charAt(i)))) i++;
+        return i == nameStart ? -1 : i;
+    }
+
+    private static void appendShiftedLine(StringBuilder result, String line, int rowOffset, int columnOffset) {
+        if (line.startsWith("$")) {
+            result.append(line);
+            return;
+        }
+        if (isAsciiLetter(line.charAt(0)))
+            result.append(CellReference.convertNumToColString(CellReference.convertColStringToIndex(line) + columnOffset));
+        else
+            result.append(Integer.parseInt(line) + rowOffset);
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static void appendShiftedReference(StringBuilder result, String reference, int rowOffset, int columnOffset) {
+        var ref = new CellReference(reference);
+        int row = ref.isRowAbsolute() ? ref.getRow() : ref.getRow() + rowOffset;
+        int column = ref.isColAbsolute() ? ref.getCol() : ref.getCol() + columnOffset;
+        result.append(new CellReference(row, column, ref.isRowAbsolute(), ref.isColAbsolute()).formatAsString(false));
+    }
+}
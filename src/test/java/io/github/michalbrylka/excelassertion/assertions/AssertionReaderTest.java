@@ -4,16 +4,27 @@ import io.github.michalbrylka.excelassertion.io.*;
 import io.github.michalbrylka.excelassertion.assertions.cell.*;
 import io.github.michalbrylka.excelassertion.assertions.text.*;
 import io.github.michalbrylka.excelassertion.assertions.number.*;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.io.TempDir;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.assertj.core.api.recursive.comparison.RecursiveComparisonConfiguration;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.*;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellFormulaType;
 
 import java.io.*;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static io.github.michalbrylka.excelassertion.assertions.ExcelAssertionBuilder.*;
 
 class AssertionReaderTest {
@@ -77,9 +88,178 @@ class AssertionReaderTest {
 
         assertThat(actualAssertions)
                 .usingRecursiveComparison()
+                .ignoringFieldsMatchingRegexes(".*frozen")
                 .isEqualTo(expectedAssertions);
     }
 
+    @Test
+    void readFrom_ShouldShareIdenticalAssertions() {
+        new AssertionReader(excelAssert).readFrom(assertionsFile);
+        var numberCells = excelAssert.getAssertions().stream()
+                .map(ExcelAssert.CellAssertionAtSheet::assertion)
+                .filter(NumberCellAssertion.class::isInstance)
+                .toList();
+
+        // A1 and A3 of Numbers sheet are both formatted with "0.00", A6 and A7 with "0.0000"
+        var formats = numberCells.stream().map(cell -> (TextAssertion<?>) assertThat(cell).extracting("expectedFormat").actual()).toList();
+        assertThat(formats.get(0)).isSameAs(formats.get(2));
+        assertThat(formats.get(5)).isSameAs(formats.get(6));
+        assertThat(formats.get(0)).isNotSameAs(formats.get(5));
+
+        assertThat(formats).allMatch(TextAssertion::isFrozen);
+        var sharedFormat = (EqualsTextAssertion) formats.getFirst();
+        Assertions.assertThrows(IllegalStateException.class, sharedFormat::respectNewLines);
+    }
+
+    @Test
+    void readFrom_ShouldReadSameAssertionsAsWorkbookReader(@TempDir Path directory) throws IOException {
+        File specFile = directory.resolve("Spec.xlsx").toFile();
+        try (var workbook = new XSSFWorkbook(Files.newInputStream(assertionsFile.toPath())); var output = new FileOutputStream(specFile)) {
+            var sheet = workbook.createSheet("Shared");
+            for (int row = 0; row < 3; row++)
+                sheet.createRow(row).createCell(0).setCellValue(row + 1);
+            addSharedFormula(sheet, "B1:B3", 0, "A1*2+$A$1");
+            addSharedFormula(sheet, "C1:E1", 1, "SUM(A:A)+SUM($A:A)+\"A:A\"&A1");
+            addSharedFormula(sheet, "F2:F3", 2, "SUM(1:1)+SUM($1:2)");
+
+            var richText = new XSSFRichTextString("Bold and plain");
+            var bold = workbook.createFont();
+            bold.setBold(true);
+            richText.applyFont(0, 4, bold);
+            sheet.createRow(4).createCell(0).setCellValue(richText);
+            workbook.write(output);
+        }
+
+        // spec is checked against itself, so that no assertion is dropped for missing sheet
+        var streamedAssertions = readAssertions(specFile, reader -> reader.readFrom(specFile));
+        var workbookAssertions = readAssertions(specFile, reader -> {
+            try (var workbook = WorkbookFactory.create(specFile, null, true)) {
+                reader.readFrom(workbook);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        assertThat(streamedAssertions)
+                .usingRecursiveComparison()
+                .ignoringFieldsMatchingRegexes(".*frozen")
+                .isEqualTo(workbookAssertions);
+        assertThat(streamedAssertions)
+                .<Object>map(ExcelAssert.CellAssertionAtSheet::assertion)
+                .usingRecursiveFieldByFieldElementComparator(RecursiveComparisonConfiguration.builder().withIgnoredFieldsMatchingRegexes(".*frozen").build())
+                .contains(
+                        new FormulaTextCellAssertion("B3", new EqualsTextAssertion("A3*2+$A$1", true, true)).withSheetName("Shared"),
+                        new FormulaTextCellAssertion("E1", new EqualsTextAssertion("SUM(C:C)+SUM(A:C)+\"A:A\"&C1", true, true)).withSheetName("Shared"),
+                        new TextCellAssertion("A5", new EqualsTextAssertion("Bold and plain", true, true)).withSheetName("Shared"));    }
+
+    @Test
+    void readFrom_ShouldReadAssertionsFromCachedPlan(@TempDir Path planCacheDirectory) throws IOException {
+        new AssertionReader(excelAssert).withPlanCache(planCacheDirectory).readFrom(assertionsFile);
+        var compiledAssertions = excelAssert.getAssertions();
+
+        List<Path> planFiles;
+        try (var files = Files.list(planCacheDirectory)) {
+            planFiles = files.toList();
+        }
+        assertThat(planFiles).singleElement().asString().endsWith(".jsonl");
+
+        var cachedAssert = assertThatExcel(dummyFile);
+        new AssertionReader(cachedAssert).withPlanCache(planCacheDirectory).readFrom(assertionsFile);
+        assertThat(cachedAssert.getAssertions())
+                .usingRecursiveComparison()
+                .ignoringFieldsMatchingRegexes(".*frozen")
+                .isEqualTo(compiledAssertions);
+
+        // plan is used instead of spec file as long as spec content is the same
+        Path planFile = planFiles.getFirst();
+        Files.writeString(planFile, Files.readString(planFile).replace("Hello World", "Hello Plan"));
+        var tamperedAssert = assertThatExcel(dummyFile);
+        new AssertionReader(tamperedAssert).withPlanCache(planCacheDirectory).readFrom(assertionsFile);
+        assertThat(tamperedAssert.getAssertions())
+                .extracting(ExcelAssert.CellAssertionAtSheet::assertion)
+                .anySatisfy(assertion -> assertThat(assertion)
+                        .usingRecursiveComparison()
+                        .isEqualTo(new TextCellAssertion("A2", new EqualsTextAssertion("Hello Plan", true, true)).withSheetName("Strings")));
+
+        for (var otherAssert : List.of(cachedAssert, tamperedAssert))
+            try {
+                otherAssert.close();
+            } catch (AssertionError ignored) {
+                //AssertionError is expected as no real data are stored in dummy workbook
+            }
+    }
+
+    @Test
+    void readPlanFrom_ShouldReadAssertionsFromJsonLines(@TempDir Path directory) throws IOException {
+        Path planFile = directory.resolve("plan.jsonl");
+        Files.writeString(planFile, """
+                {"sheet":"Numbers","at":"A1","number":{"gt":1.0},"format":{"eq":"0.00"}}
+                {"at":"A2","number":{"close":"2.0±0.5"},"formatCategory":"PERCENTAGE"}
+
+                {"sheet":"#2","at":"B1","text":{"eq":"Total","ignoreCase":true},"comment":{"has":"sum"}}
+                {"at":"B2","empty":true}
+                {"sheet":"Booleans","at":"C1","boolean":false}
+                {"at":"C2"}
+                {"dateTime":{"after":"2024-01-01T00:00","year":2024},"at":"C3"}
+                """);
+
+        new AssertionReader(excelAssert).readPlanFrom(planFile.toFile());
+
+        var expectedAssertions = Stream.of(
+                new ExpAss("Numbers", new NumberCellAssertion("A1", new GreaterThanNumberAssertion(1.0)).withFormat(new EqualsTextAssertion("0.00", false, false))),
+                new ExpAss("Numbers", new NumberCellAssertion("A2", new CloseToOffsetNumberAssertion(2.0, org.assertj.core.data.Offset.offset(0.5))).withFormatCategory(FormatCategory.PERCENTAGE)),
+                new ExpAss(2, new TextCellAssertion("B1", new EqualsTextAssertion("Total", true, false)).withComment(new ContainsTextAssertion("sum", false))),
+                new ExpAss(2, new EmptyCellAssertion("B2")),
+                new ExpAss("Booleans", new BooleanCellAssertion("C1", false)),
+                new ExpAss("Booleans", new SimpleCellAssertion("C2")),
+                new ExpAss("Booleans", new DateTimeCellAssertion("C3").isAfter(LocalDateTime.of(2024, 1, 1, 0, 0)).hasYear(2024))
+        ).map(
+                ea -> new ExcelAssert.CellAssertionAtSheet(
+                        ea.assertion.withSheetName(ea.sheetRef instanceof String s ? s : "Strings"),
+                        switch (ea.sheetRef) {
+                            case String s -> new ExcelAssert.SheetRefByName(s);
+                            case Integer i -> new ExcelAssert.SheetRefByIndex(i);
+                            default -> throw new IllegalStateException(ea.sheetRef + " is not supported");
+                        }
+                )
+        ).toList();
+
+        assertThat(excelAssert.getAssertions())
+                .usingRecursiveComparison()
+                .isEqualTo(expectedAssertions);
+    }
+
+    @Test
+    void readPlanFrom_ShouldRejectEmptyFalse(@TempDir Path directory) throws IOException {
+        Path planFile = directory.resolve("plan.jsonl");
+        Files.writeString(planFile, """
+                {"sheet":"Numbers","at":"A1","empty":false}
+                """);
+
+        assertThatThrownBy(() -> new AssertionReader(excelAssert).readPlanFrom(planFile.toFile()))
+                .isInstanceOf(JsonMappingException.class)
+                .hasMessageContaining("'empty' can only be true");
+        assertThat(excelAssert.getAssertions()).isEmpty();
+    }
+
+    @Test
+    void planFormat_ShouldWriteDateTimeAssertions() throws IOException {
+        var mapper = new ObjectMapper();
+        var dateTime = new DateTimeCellAssertion("D4").isBefore(LocalDateTime.of(2025, 6, 30, 12, 0)).hasMonthValue(6).withSheetName("Dates");
+
+        String json = mapper.writeValueAsString(dateTime);
+
+        assertThat(json).isEqualTo("""
+                {"sheet":"Dates","at":"D4","dateTime":{"before":"2025-06-30T12:00","month":6}}""");
+        assertThat(mapper.readValue(json, CellAssertion.class))
+                .usingRecursiveComparison()
+                .isEqualTo(dateTime);
+        assertThatThrownBy(() -> mapper.writeValueAsString(new DateTimeCellAssertion("D5")
+                .isEqualToWithTolerance(LocalDateTime.of(2025, 6, 30, 12, 0), org.assertj.core.api.Assertions.within(1, ChronoUnit.HOURS))))
+                .isInstanceOf(JsonMappingException.class)
+                .hasMessageContaining("Date-time check with tolerance at null!D5 cannot be written");
+    }
+
     record ExpAss(@NotNull Object sheetRef, @NotNull CellAssertion<?> assertion) {}
 
     @BeforeEach
@@ -128,6 +308,36 @@ class AssertionReaderTest {
         }
     }
 
+    private static List<ExcelAssert.CellAssertionAtSheet> readAssertions(File file, java.util.function.Consumer<AssertionReader> read) {
+        var fileAssert = assertThatExcel(file);
+        read.accept(new AssertionReader(fileAssert));
+        var assertions = fileAssert.getAssertions();
+        try {
+            fileAssert.close();
+        } catch (AssertionError ignored) {
+            //formulas of spec are not evaluated, so some of its assertions may fail
+        }
+        return assertions;
+    }
+
+    /**
+     * Writes shared formula the way Excel does - formula text only in the top left cell of range, other cells refer to it by index
+     */
+    private static void addSharedFormula(XSSFSheet sheet, String range, int sharedIndex, String formula) {
+        boolean master = true;
+        for (var address : CellRangeAddress.valueOf(range)) {
+            var row = sheet.getRow(address.getRow()) instanceof XSSFRow existing ? existing : sheet.createRow(address.getRow());
+            var cellFormula = row.createCell(address.getColumn()).getCTCell().addNewF();
+            cellFormula.setT(STCellFormulaType.SHARED);
+            cellFormula.setSi(sharedIndex);
+            if (master) {
+                cellFormula.setRef(range);
+                cellFormula.setStringValue(formula);
+                master = false;
+            }
+        }
+    }
+
     private static void generateDummyExcelFile(OutputStream output) throws IOException {
         try (var workbook = new XSSFWorkbook()) {
             List<SheetEntry> sheetEntries = new ArrayList<>();
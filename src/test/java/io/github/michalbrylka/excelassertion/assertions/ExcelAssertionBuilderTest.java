@@ -1,30 +1,46 @@
 package io.github.michalbrylka.excelassertion.assertions;
 
 import io.github.michalbrylka.excelassertion.assertions.cell.CellAssertion;
+import io.github.michalbrylka.excelassertion.assertions.cell.DateTimeCellAssertion;
+import io.github.michalbrylka.excelassertion.assertions.cell.EvaluationPolicy;
+import io.github.michalbrylka.excelassertion.assertions.cell.FormatCategory;
+import io.github.michalbrylka.excelassertion.assertions.cell.SimpleCellAssertion;
 import io.github.michalbrylka.excelassertion.io.*;
 
 import org.assertj.core.data.Offset;
 import org.assertj.core.data.Percentage;
 import org.junit.jupiter.api.*;
+import org.apache.poi.hssf.usermodel.HSSFRichTextString;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.xssf.usermodel.XSSFFormulaEvaluator;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.api.Named;
 
 import java.util.stream.Stream;
+import java.util.function.Function;
 import java.io.*;
 import java.nio.file.Files;
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static io.github.michalbrylka.excelassertion.assertions.ExcelAssertionBuilder.*;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.Assertions.tuple;
 
 class ExcelAssertionBuilderTest {
     private ExcelAssert assertThatExcelFile;
     private static File exampleFile;
+    private static File deferredFile;
 
     @Test
     void testAllAssertionsPass() {
@@ -345,6 +361,629 @@ class ExcelAssertionBuilderTest {
     }
 
 
+    @Test
+    void evaluateAll_ShouldWarmUpFormulasBeforeAssertions() {
+        assertThatExcelFile.evaluateAll() // workbook also contains unsupported XYZ() function
+                .inSheet("Numbers").have(
+                        cellAt("A1").withNumber(equalTo(2.0)),
+                        cellAt("A6").withNumber(closeTo(1.4142, Offset.offset(0.0001)))
+                )
+                .inSheet("Strings").has(cellAt("A2").withText("Hello World"))
+                .inSheet("Errors").has(cellAt("A2").withErrorText(equalTo("#N/A")));
+
+        assertThatCode(() -> assertThatExcelFile.close()).doesNotThrowAnyException();
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @MethodSource("evaluationPolicyCases")
+    void withEvaluationPolicy_ShouldChooseFormulaResultSource(EvaluationPolicy policy, double expected, String expectedErrorMessagePart) throws IOException {
+        byte[] staleWorkbook;
+        try (var workbook = new XSSFWorkbook(); var out = new ByteArrayOutputStream()) {
+            var row = workbook.createSheet("Stale").createRow(0);
+            row.createCell(0).setCellValue(5);
+            var formulaCell = row.createCell(1);
+            formulaCell.setCellFormula("A1*2");
+            formulaCell.setCellValue(2); // stored result does not match A1 anymore
+            workbook.write(out);
+            staleWorkbook = out.toByteArray();
+        }
+
+        var excelAssert = assertThatExcel(staleWorkbook)
+                .withEvaluationPolicy(policy)
+                .has(cellAt("B1").withNumber(equalTo(expected)));
+
+        if (expectedErrorMessagePart == null)
+            assertThatCode(excelAssert::close).doesNotThrowAnyException();
+        else
+            assertThatThrownBy(excelAssert::close)
+                    .isInstanceOf(AssertionError.class)
+                    .hasMessageContaining(expectedErrorMessagePart);
+    }
+
+    static Stream<Arguments> evaluationPolicyCases() {
+        return Stream.of(
+                Arguments.of(EvaluationPolicy.CACHED, 2.0, null),
+                Arguments.of(EvaluationPolicy.RECALCULATE, 10.0, null),
+                Arguments.of(EvaluationPolicy.CACHED_THEN_VERIFY, 2.0, "formula cell Stale!B1 has stale result: stored result 2.0 differs from evaluated 10.0"),
+                Arguments.of(EvaluationPolicy.CACHED, 10.0, "expected: 10.0")
+        );
+    }
+
+    @Test
+    void evaluateAll_ShouldEvaluateFormulasWhateverThePolicy() {
+        var workbook = new XSSFWorkbook();
+        var row = workbook.createSheet("Warm").createRow(0);
+        row.createCell(0).setCellValue(5);
+        row.createCell(1).setCellFormula("A1*2");
+
+        var excelAssert = new ExcelAssert(workbook).withEvaluationPolicy(EvaluationPolicy.CACHED).evaluateAll();
+        // evaluator is not notified of this change, so only results evaluated up front give 10
+        row.getCell(0).setCellValue(7);
+        excelAssert.withEvaluationPolicy(EvaluationPolicy.RECALCULATE)
+                .has(cellAt("B1").withNumber(equalTo(10.0)));
+
+        assertThatCode(excelAssert::close).doesNotThrowAnyException();
+    }
+
+    @Test
+    void withEvaluationPolicy_ShouldRejectRecalculationInDeferredMode() {
+        try (var deferred = assertThatExcelDeferred(deferredFile)) {
+            assertThatThrownBy(() -> deferred.withEvaluationPolicy(EvaluationPolicy.RECALCULATE))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void has_ShouldNotCreateAbsentCells() {
+        var workbook = new XSSFWorkbook();
+        var sheet = workbook.createSheet("Sparse");
+        sheet.createRow(0).createCell(0).setCellValue("only cell");
+        var comment = sheet.createDrawingPatriarch().createCellComment(workbook.getCreationHelper().createClientAnchor());
+        comment.setString(new XSSFRichTextString("NOTE"));
+        comment.setAddress(new CellAddress("C3")); // comment without cell
+
+        var excelAssert = new ExcelAssert(workbook).have(
+                cellAt("A2").empty(),
+                cellAt("B1").empty().withFormat("General").withFormatCategory(FormatCategory.GENERAL),
+                cellAt("C3").exists().withComment("NOTE"),
+                cellAt("D4").withNumber(equalTo(0.0))
+        );
+
+        assertThat(sheet.getPhysicalNumberOfRows()).isEqualTo(1);
+        assertThat(sheet.getRow(0).getPhysicalNumberOfCells()).isEqualTo(1);
+        assertThatThrownBy(excelAssert::close)
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("cannot add assertion for cell Sparse!D4")
+                .hasMessageNotContaining("Sparse!A2")
+                .hasMessageNotContaining("Sparse!B1")
+                .hasMessageNotContaining("Sparse!C3");
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @MethodSource("rangeWorkbookOpeners")
+    void withComment_ShouldReadCommentsOfAbsentCells(Function<byte[], ExcelAssert> opener) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var workbook = new XSSFWorkbook()) {
+            var sheet = workbook.createSheet("Sparse");
+            sheet.createRow(0).createCell(0).setCellValue("only cell");
+            var comment = sheet.createDrawingPatriarch().createCellComment(workbook.getCreationHelper().createClientAnchor());
+            comment.setString(new XSSFRichTextString("NOTE"));
+            comment.setAddress(new CellAddress("C3")); // comment without cell
+            workbook.write(bytes);
+        }
+
+        var excelAssert = opener.apply(bytes.toByteArray()).have(
+                cellAt("C3").empty().withComment("NOTE").withFormat("General"),
+                cellAt("C4").empty().withComment("NOTE")
+        );
+
+        assertThatThrownBy(excelAssert::close)
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Sparse!C4")
+                .hasMessageNotContaining("Sparse!C3");
+    }
+
+    @Test
+    void withComment_ShouldReadCommentsOfXlsSheet() throws IOException {
+        try (var workbook = new HSSFWorkbook()) {
+            var sheet = workbook.createSheet("Notes");
+            var drawing = sheet.createDrawingPatriarch();
+            for (int row = 0; row < 3; row++)
+                sheet.createRow(row).createCell(0).setCellValue("value " + row);
+            for (String address : List.of("A2", "C3")) {
+                var comment = drawing.createCellComment(workbook.getCreationHelper().createClientAnchor());
+                comment.setString(new HSSFRichTextString("note " + address));
+                comment.setAddress(new CellAddress(address));
+            }
+
+            assertThat(ExcelOperations.readWorkbook(workbook).getFirst().cells())
+                    .extracting(CellEntry::address, CellEntry::comment)
+                    .containsExactly(tuple("A1", null), tuple("A2", "note A2"), tuple("A3", null));
+
+            var excelAssert = new ExcelAssert(workbook).have(
+                    cellAt("A2").withText("value 1").withComment("note A2"),
+                    cellAt("C3").exists().withComment("note C3"),
+                    cellAt("A3").exists().withComment("note A3")
+            );
+            assertThatThrownBy(excelAssert::close)
+                    .isInstanceOf(AssertionError.class)
+                    .hasMessageContaining("comment at Notes!A3 is expected to exist")
+                    .hasMessageNotContaining("Notes!A2")
+                    .hasMessageNotContaining("Notes!C3");
+        }
+    }
+
+    @Test
+    void assertThatExcel_ShouldOpenPathReadOnly() throws IOException {
+        byte[] before = Files.readAllBytes(exampleFile.toPath());
+
+        var excelAssert = assertThatExcel(exampleFile.toPath())
+                .inSheet("Headers").have(
+                        cellAt("E3").withText("Header"),
+                        cellAt("Z1000").empty() // would create row and cell in the in-memory model
+                );
+        assertThatCode(excelAssert::close).doesNotThrowAnyException();
+
+        assertThat(Files.readAllBytes(exampleFile.toPath())).isEqualTo(before);
+    }
+
+    @Test
+    void assertThatExcel_ShouldFailFastForMissingFile() {
+        assertThatThrownBy(() -> assertThatExcel(exampleFile.toPath().resolveSibling("missing.xlsx")))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Failed to read Excel file: <missing.xlsx>");
+    }
+
+    @Test
+    void cellAt_ShouldLocateCellByIndices() {
+        assertThat(cellAt(0, 1).withNumber(equalTo(4.0))).isEqualTo(cellAt("B1").withNumber(equalTo(4.0)));
+        assertThat(new ExcelAssertionBuilder.ExcelCellAssertionBuilder("B1").withNumber(equalTo(4.0))).isEqualTo(cellAt(0, 1).withNumber(equalTo(4.0)));
+        assertThat(cellAt("B1").cellAddress()).isEqualTo("B1");
+
+        var excelAssert = assertThatExcel(deferredFile).inSheet("Formulas").have(
+                cellAt(0, 1).withNumber(equalTo(4.0)),
+                cellAt(0, 2).withNumber(equalTo(1.0)),
+                cellAt(99, 25).empty()
+        );
+        assertThatThrownBy(excelAssert::close)
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("cannot add assertion for cell Formulas!C1")
+                .hasMessageNotContaining("Formulas!B1")
+                .hasMessageNotContaining("Formulas!Z100");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " ", "A", "12", "A1:B2"})
+    void cellAt_ShouldRejectInvalidAddress(String cellAddress) {
+        assertThatThrownBy(() -> cellAt(cellAddress)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SimpleCellAssertion(cellAddress)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void deferred_ShouldEvaluateAllAssertionsOnClose() {
+        var deferred = assertThatExcelDeferred(deferredFile)
+                .inSheet("Comments").have(
+                        cellAt("A9").exists().withComment(matching("\\waL[ue]{2}").ignoreCase()),
+                        cellAt("A1").withText("COMMENT1").withComment("FORMAT")
+                )
+                .inSheet(0).have(
+                        cellAt("B1").withNumber(equalTo(4.0)).withFormat("0.00"),
+                        cellAt("B1").withFormulaText(equalTo("A1*2")),
+                        cellAt("A1").withNumber(closeTo(2.0, Offset.offset(0.001))),
+                        cellAt("A2").withText(equalTo("hello world").ignoreCase()),
+                        cellAt("A3").withBoolean(ofTrue()),
+                        cellAt("A4").withErrorText(containing("div/0").ignoreCase()),
+                        cellAt("Z100").empty()
+                );
+
+        assertThatCode(deferred::close).doesNotThrowAnyException();
+        assertThat(deferred.getAssertions()).hasSize(9);
+    }
+
+    @Test
+    void deferred_ShouldCollectAllFailuresOnClose() {
+        var deferred = assertThatExcelDeferred(deferredFile)
+                .inSheet("Formulas").have(
+                        cellAt("B1").withNumber(equalTo(5.0)),
+                        cellAt("C1").withNumber(equalTo(1.0))
+                )
+                .inSheet("Comments").has(cellAt("A2").exists().withComment("no comment"))
+                .inSheet("Missing");
+
+        assertThatThrownBy(deferred::close)
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("expected: 5.0")
+                .hasMessageContaining("cannot add assertion for cell Formulas!C1")
+                .hasMessageContaining("comment at Comments!A2 is expected to exist")
+                .hasMessageContaining("Cannot find sheet with name 'Missing'");
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @MethodSource("rangeWorkbookOpeners")
+    void cellsIn_ShouldReportFailingCellsAsRanges(Function<byte[], ExcelAssert> opener) throws IOException {
+        var workbook = new XSSFWorkbook();
+        ExcelOperations.fillWorkbook(workbook, List.of(new SheetEntry("Range", List.of(
+                new TextCellEntry("B1", "Amount"),
+                new NumberCellEntry("B2", 1.0), new NumberCellEntry("B3", -1.0), new NumberCellEntry("B4", -2.0),
+                new NumberCellEntry("B6", 5.0), new TextCellEntry("B7", "text"),
+                new NumberCellEntry("B8", 1.0), new NumberCellEntry("B9", 1.0), new NumberCellEntry("B10", 1.0), new NumberCellEntry("B11", 1.0),
+                new NumberCellEntry("D1", 1.0), new NumberCellEntry("E1", 1.0), new NumberCellEntry("F1", 1.0),
+                new NumberCellEntry("D4", 1.0), new NumberCellEntry("E4", 2.0)
+        ))));
+        var bytes = new ByteArrayOutputStream();
+        workbook.write(bytes);
+
+        var excelAssert = opener.apply(bytes.toByteArray()).inSheet("Range")
+                .has(cellsIn("B2:B12").withNumber(greaterThanOrEqualTo(0)))
+                .has(cellsIn("D1:F4").withNumber(equalTo(1.0)))
+                .has(cellsIn("B8:B11").withNumber(equalTo(1.0)))
+                .has(cellsIn("A1:A100000").empty());
+
+        assertThatThrownBy(excelAssert::close)
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("CellRangeAssertion: 5 of 11 cells in Range!B2:B12 failed check 'number is >= 0.0': B3:B5, B7, B12")
+                .hasMessageContaining("CellRangeAssertion: 8 of 12 cells in Range!D1:F4 failed check 'number is == 1.0': D2:F3, E4:F4")
+                .hasMessageNotContaining("Range!B8:B11")
+                .hasMessageNotContaining("Range!A1:A100000");
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @MethodSource("rangeWorkbookOpeners")
+    void cellsIn_ShouldAgreeWithSingleCellAssertions(Function<byte[], ExcelAssert> opener) throws IOException {
+        // "İ" lower-cases to "i̇" as a whole text, but not char by char
+        byte[] workbook = toBytes(List.of(new SheetEntry("Range", List.of(
+                new TextCellEntry("A1", "İSTANBUL"), new TextCellEntry("A2", "İzmir"),
+                new NumberCellEntry("B2", 1.0)))));
+
+        var excelAssert = opener.apply(workbook).inSheet("Range")
+                .has(cellAt("A1").withText(containing("i̇").ignoreCase()))
+                .has(cellsIn("A1:A2").withText(containing("i̇").ignoreCase()))
+                .has(cellsIn("B2:B2").withNumber(equalTo(1.0)));
+
+        assertThat(excelAssert.getRangeAssertions())
+                .extracting(rangeAssertion -> rangeAssertion.assertion().getRange().formatAsString())
+                .containsExactly("A1:A2", "B2");
+        assertThatCode(excelAssert::close).doesNotThrowAnyException();
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @MethodSource("rangeWorkbookOpeners")
+    void cellsIn_ShouldConfirmBulkFailuresWithAssertion(Function<byte[], ExcelAssert> opener) throws IOException {
+        // plain comparison does not order zeros, AssertJ compares with Double.compareTo where -0.0 < 0.0
+        var aboveNegativeZero = greaterThan(-0.0);
+        byte[] workbook = toBytes(List.of(new SheetEntry("Column", List.of(
+                new NumberCellEntry("A1", 0.0), new NumberCellEntry("A2", 0.0), new NumberCellEntry("A3", -1.0)))));
+        assertThat(aboveNegativeZero.test(0.0)).isFalse();
+
+        var excelAssert = opener.apply(workbook).inSheet("Column")
+                .has(cellAt("A1").withNumber(aboveNegativeZero))
+                .has(cellsIn("A1:A3").withNumber(aboveNegativeZero));
+
+        assertThatThrownBy(excelAssert::close)
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("1 of 3 cells in Column!A1:A3 failed check 'number is > -0.0': A3")
+                .hasMessageNotContaining("number at Column!A1");
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @MethodSource("rangeWorkbookOpeners")
+    void has_ShouldReadDatesOf1904Workbook(Function<byte[], ExcelAssert> opener) throws IOException {
+        LocalDateTime date = LocalDateTime.of(2024, 1, 31, 12, 0);
+        double serial = DateUtil.getExcelDate(date, true);
+        var bytes = new ByteArrayOutputStream();
+        try (var workbook = new XSSFWorkbook()) {
+            var ctWorkbook = workbook.getCTWorkbook();
+            (ctWorkbook.isSetWorkbookPr() ? ctWorkbook.getWorkbookPr() : ctWorkbook.addNewWorkbookPr()).setDate1904(true);
+            ExcelOperations.fillWorkbook(workbook, List.of(new SheetEntry("Dates", List.of(
+                    new NumberCellEntry("A1", serial),
+                    new NumberCellEntry("A2", serial, "yyyy-mm-dd"),
+                    FormulaCellEntry.ofNoValue("A3", "A1")))));
+            XSSFFormulaEvaluator.evaluateAllFormulaCells(workbook);
+            workbook.write(bytes);
+        }
+
+        var excelAssert = opener.apply(bytes.toByteArray()).inSheet("Dates")
+                .has(new DateTimeCellAssertion("A1").isEqualTo(date))
+                .has(new DateTimeCellAssertion("A3").isEqualTo(date))
+                .has(cellAt("A2").withNumber(equalTo(serial)))
+                .has(cellsIn("A1:A2").withNumber(equalTo(serial)));
+
+        assertThatCode(excelAssert::close).doesNotThrowAnyException();
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @MethodSource("rangeWorkbookOpeners")
+    void cellsIn_ShouldCheckNumbersInChunks(Function<byte[], ExcelAssert> opener) throws IOException {
+        List<CellEntry<?>> cells = new ArrayList<>();
+        for (int r = 1; r <= 10000; r++)
+            cells.add(r == 7000 ? new TextCellEntry("B" + r, "text") : new NumberCellEntry("B" + r, r == 5000 || r / 3 == 3000 ? -1.0 : r));
+        var workbook = new XSSFWorkbook();
+        ExcelOperations.fillWorkbook(workbook, List.of(new SheetEntry("Column", cells)));
+        var bytes = new ByteArrayOutputStream();
+        workbook.write(bytes);
+
+        var excelAssert = opener.apply(bytes.toByteArray())
+                .has(cellsIn("B1:B10001").withNumber(greaterThan(0)))
+                .has(cellsIn("B1:B4999").withNumber(withinRange(1, 4999)));
+
+        assertThatThrownBy(excelAssert::close)
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("6 of 10001 cells in Column!B1:B10001 failed check 'number is > 0.0': B5000, B7000, B9000:B9002, B10001")
+                .hasMessageNotContaining("Column!B1:B4999");
+    }
+
+    @Test
+    void sheetCursor_ShouldLeaveReaderUsableWhenClosedMidSheet() throws IOException {
+        List<CellEntry<?>> cells = new ArrayList<>();
+        for (int r = 1; r <= 20000; r++)
+            cells.add(new NumberCellEntry("A" + r, (double) r));
+        File file = writeWorkbook(List.of(new SheetEntry("Long", cells),
+                new SheetEntry("Short", List.of(new TextCellEntry("A1", "after")))));
+
+        var reader = StreamingWorkbookReader.open(file);
+        try (var cursor = SheetCursor.of(reader, 0)) {
+            assertThat(cursor.next()).extracting(SheetCursor.PositionedCell::rowIndex).isEqualTo(0);
+        }
+
+        var excelAssert = new ExcelAssert(reader)
+                .inSheet("Short").has(cellAt("A1").withText("after"))
+                .inSheet("Long").has(cellsIn("A1:A20000").withNumber(greaterThan(0)));
+        assertThatCode(excelAssert::close).doesNotThrowAnyException();
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @MethodSource("rangeWorkbookOpeners")
+    void matchesGolden_ShouldReportDifferentCells(Function<byte[], ExcelAssert> opener) throws IOException {
+        File golden = writeWorkbook(List.of(
+                new SheetEntry("Data", List.of(
+                        new TextCellEntry("A1", "Name"), new NumberCellEntry("B1", 1.0),
+                        new NumberCellEntry("A2", 100.0), new NumberCellEntry("B2", 2.5, "0.00"),
+                        new BooleanCellEntry("A3", true), FormulaCellEntry.ofNoValue("B3", "B1+B2"),
+                        new TextCellEntry("A4", "missing"))),
+                new SheetEntry("Gone", List.of(new NumberCellEntry("A1", 1.0)))));
+        byte[] actual = toBytes(List.of(
+                new SheetEntry("DATA", List.of(
+                        new TextCellEntry("A1", "Name"), new NumberCellEntry("B1", 1.0),
+                        new NumberCellEntry("A2", 100.4), new NumberCellEntry("B2", 2.5, "0.0"),
+                        new TextCellEntry("A3", "true"), FormulaCellEntry.ofNoValue("B3", "B1*B2"),
+                        new TextCellEntry("C4", "extra"))),
+                new SheetEntry("New", List.of())));
+
+        assertThatCode(() -> opener.apply(actual).matchesGolden(golden, GoldenTolerances.exact().withOffset(Offset.offset(0.5)).ignoringFormats()).close())
+                .hasMessageContaining("DATA!A3")
+                .hasMessageContaining("DATA!B3")
+                .hasMessageContaining("DATA!A4")
+                .hasMessageContaining("DATA!C4")
+                .hasMessageContaining("Sheet 'Gone' of golden workbook is missing")
+                .hasMessageContaining("Sheet 'New' is not present in golden workbook")
+                .hasMessageNotContaining("DATA!A2")
+                .hasMessageNotContaining("DATA!B2");
+
+        assertThatCode(() -> opener.apply(actual).matchesGolden(golden).close())
+                .hasMessageContaining("DATA!A2")
+                .hasMessageContaining("DATA!B2");
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @MethodSource("rangeWorkbookOpeners")
+    void withFormatCategory_ShouldDetectCategoriesOfSharedFormats(Function<byte[], ExcelAssert> opener) throws IOException {
+        var cells = new ArrayList<CellEntry<?>>();
+        for (int row = 1; row <= 20; row++) {
+            cells.add(new NumberCellEntry("A" + row, 0.25, "0.00%"));
+            cells.add(new DateCellEntry("B" + row, LocalDateTime.of(2024, 1, row, 0, 0), "yyyy-mm-dd"));
+            cells.add(new NumberCellEntry("C" + row, 1000.0, "#,##0"));
+        }
+        byte[] workbook = toBytes(List.of(new SheetEntry("Formats", cells)));
+
+        var excelAssert = opener.apply(workbook).inSheet("Formats");
+        for (int row = 1; row <= 20; row++)
+            excelAssert.have(
+                    cellAt("A" + row).withNumber(equalTo(0.25)).withFormatCategory(FormatCategory.PERCENTAGE),
+                    cellAt("B" + row).exists().withFormatCategory(FormatCategory.DATE),
+                    cellAt("C" + row).exists().withFormatCategory(row == 20 ? FormatCategory.TEXT : FormatCategory.CURRENCY)
+            );
+
+        assertThatThrownBy(excelAssert::close)
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("expected format category at Formats!C20")
+                .hasMessageNotContaining("Formats!C19")
+                .hasMessageNotContaining("Formats!A")
+                .hasMessageNotContaining("Formats!B");
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @MethodSource("rangeWorkbookOpeners")
+    void matchesGolden_ShouldPassForSameWorkbook(Function<byte[], ExcelAssert> opener) throws IOException {
+        List<SheetEntry> sheets = List.of(new SheetEntry("Data", List.of(
+                new TextCellEntry("A1", "Name"), new NumberCellEntry("B1", 1.0, "0.00"),
+                new ErrorCellEntry("A2", "#DIV/0!"), FormulaCellEntry.ofNoValue("B2", "B1*2"))));
+        File golden = writeWorkbook(sheets);
+
+        assertThatCode(() -> opener.apply(toBytes(sheets)).matchesGolden(golden).close()).doesNotThrowAnyException();
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @MethodSource("rangeWorkbookOpeners")
+    void reconcilesRowsWith_ShouldMatchRowsByKey(Function<byte[], ExcelAssert> opener) throws IOException {
+        File expected = writeWorkbook(List.of(new SheetEntry("Orders", List.of(
+                new TextCellEntry("A1", "Id"), new TextCellEntry("B1", "Customer"), new TextCellEntry("C1", "Amount"),
+                new NumberCellEntry("A2", 1.0), new TextCellEntry("B2", "Alice"), new NumberCellEntry("C2", 10.0),
+                new NumberCellEntry("A3", 2.0), new TextCellEntry("B3", "Bob"), new NumberCellEntry("C3", 20.0),
+                new NumberCellEntry("A4", 3.0), new TextCellEntry("B4", "Carol"), new NumberCellEntry("C4", 30.0),
+                new NumberCellEntry("A5", 4.0), new TextCellEntry("B5", "Dave"), new NumberCellEntry("C5", 40.0),
+                new NumberCellEntry("A6", 4.0), new TextCellEntry("B6", "Dave"), new NumberCellEntry("C6", 40.0)))));
+        byte[] actual = toBytes(List.of(new SheetEntry("Orders", List.of(
+                new TextCellEntry("A1", "Id"), new TextCellEntry("B1", "Customer"), new TextCellEntry("C1", "Amount"),
+                new NumberCellEntry("A2", 4.0), new TextCellEntry("B2", "Dave"), new NumberCellEntry("C2", 40.0),
+                new NumberCellEntry("A3", 3.0), new TextCellEntry("B3", "carol"), new NumberCellEntry("C3", 30.01),
+                new NumberCellEntry("A4", 1.0), new TextCellEntry("B4", "Alice"), new NumberCellEntry("C4", 12.0),
+                new NumberCellEntry("A5", 5.0), new TextCellEntry("B5", "Eve"), new NumberCellEntry("C5", 50.0)))));
+
+        var reconciliation = RowReconciliation.byKey("A").withHeaderRows(1)
+                .withNumberTolerance("C", value -> closeTo(value, Offset.offset(0.1)))
+                .withTextTolerance("B", value -> equalTo(value).ignoreCase());
+
+        assertThatThrownBy(() -> opener.apply(actual).reconcilesRowsWith(expected, reconciliation).close())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("RowReconciliation: 1 of 5 expected rows are missing from Orders:")
+                .hasMessageContaining("[2] (row 3)")
+                .hasMessageContaining("RowReconciliation: 1 of 4 rows of Orders are not expected:")
+                .hasMessageContaining("[5] (row 5)")
+                .hasMessageContaining("RowReconciliation: 1 rows of Orders differ from expected:")
+                .hasMessageContaining("[1] (expected row 2, actual row 4): C: expected ~10.0±0.1 but was 12")
+                .hasMessageContaining("RowReconciliation: 1 expected rows of Orders have duplicate key:")
+                .hasMessageContaining("[4] (rows 5 and 6)")
+                .hasMessageNotContaining("[3]");
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @MethodSource("rangeWorkbookOpeners")
+    void reconcilesRowsWith_ShouldSpillRowsAboveMemoryBudget(Function<byte[], ExcelAssert> opener) throws IOException {
+        List<CellEntry<?>> expectedCells = new ArrayList<>();
+        List<CellEntry<?>> actualCells = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            int actualRow = 1001 - i;
+            expectedCells.add(new TextCellEntry("A" + i, "K" + i));
+            expectedCells.add(new NumberCellEntry("C" + i, (double) i));
+            actualCells.add(new TextCellEntry("A" + actualRow, "K" + i));
+            actualCells.add(new NumberCellEntry("C" + actualRow, i == 500 ? -1.0 : i));
+        }
+        File expected = writeWorkbook(List.of(new SheetEntry("Rows", expectedCells)));
+        byte[] actual = toBytes(List.of(new SheetEntry("Rows", actualCells)));
+
+        assertThatThrownBy(() -> opener.apply(actual).reconcilesRowsWith(expected, RowReconciliation.byKey("A").withMemoryBudget(100)).close())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("RowReconciliation: 1 rows of Rows differ from expected:")
+                .hasMessageContaining("[K500] (expected row 500, actual row 501): C: expected == 500.0 but was -1")
+                .hasMessageNotContaining("missing")
+                .hasMessageNotContaining("not expected");
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @MethodSource("rangeWorkbookOpeners")
+    void reconcilesRowsWith_ShouldRepartitionSpilledRowsAboveMemoryBudget(Function<byte[], ExcelAssert> opener) throws IOException {
+        List<CellEntry<?>> expectedCells = new ArrayList<>();
+        List<CellEntry<?>> actualCells = new ArrayList<>();
+        for (int i = 1; i <= 2000; i++) {
+            expectedCells.add(new TextCellEntry("A" + i, "K" + i));
+            expectedCells.add(new NumberCellEntry("C" + i, (double) i));
+            if (i == 700) continue;
+            actualCells.add(new TextCellEntry("A" + i, "K" + i));
+            actualCells.add(new NumberCellEntry("C" + i, i == 1500 ? -1.0 : i));
+        }
+        expectedCells.add(new TextCellEntry("A2001", "K42"));
+        actualCells.add(new TextCellEntry("A2001", "K2001"));
+        File expected = writeWorkbook(List.of(new SheetEntry("Rows", expectedCells)));
+        byte[] actual = toBytes(List.of(new SheetEntry("Rows", actualCells)));
+
+        // 2000 rows in 16 partitions exceed budget of 3 rows several levels deep
+        assertThatThrownBy(() -> opener.apply(actual).reconcilesRowsWith(expected, RowReconciliation.byKey("A").withMemoryBudget(3)).close())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("RowReconciliation: 1 of 2001 expected rows are missing from Rows:")
+                .hasMessageContaining("[K700] (row 700)")
+                .hasMessageContaining("RowReconciliation: 1 of 2000 rows of Rows are not expected:")
+                .hasMessageContaining("[K2001] (row 2001)")
+                .hasMessageContaining("RowReconciliation: 1 rows of Rows differ from expected:")
+                .hasMessageContaining("[K1500] (expected row 1500, actual row 1500): C: expected == 1500.0 but was -1")
+                .hasMessageContaining("RowReconciliation: 1 expected rows of Rows have duplicate key:")
+                .hasMessageContaining("[K42] (rows 42 and 2001)");
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @MethodSource("rangeWorkbookOpeners")
+    void reconcilesRowsWith_ShouldConfirmDifferencesWithAssertion(Function<byte[], ExcelAssert> opener) throws IOException {
+        // plain comparison does not order zeros, AssertJ compares with Double.compareTo where -0.0 < 0.0
+        File expected = writeWorkbook(List.of(new SheetEntry("Zeros", List.of(
+                new TextCellEntry("A1", "K1"), new NumberCellEntry("B1", 0.0),
+                new TextCellEntry("A2", "K2"), new NumberCellEntry("B2", 0.0)))));
+        byte[] actual = toBytes(List.of(new SheetEntry("Zeros", List.of(
+                new TextCellEntry("A1", "K1"), new NumberCellEntry("B1", 0.0),
+                new TextCellEntry("A2", "K2"), new NumberCellEntry("B2", -1.0)))));
+
+        var reconciliation = RowReconciliation.byKey("A").withNumberTolerance("B", value -> greaterThan(-0.0));
+        assertThat(greaterThan(-0.0).test(0.0)).isFalse();
+
+        assertThatThrownBy(() -> opener.apply(actual).reconcilesRowsWith(expected, reconciliation).close())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("RowReconciliation: 1 rows of Zeros differ from expected:")
+                .hasMessageContaining("[K2] (expected row 2, actual row 2): B: expected")
+                .hasMessageNotContaining("[K1]");
+    }
+
+    @Test
+    void reconciliation_ShouldRejectInvalidColumns() {
+        assertThatThrownBy(() -> RowReconciliation.byKey("A1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(RowReconciliation::byKey).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RowReconciliation.byKey("A").withNumberTolerance("", ExcelAssertionBuilder::equalTo))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] toBytes(List<SheetEntry> sheets) throws IOException {
+        try (var workbook = new XSSFWorkbook(); var bytes = new ByteArrayOutputStream()) {
+            ExcelOperations.fillWorkbook(workbook, sheets);
+            XSSFFormulaEvaluator.evaluateAllFormulaCells(workbook);
+            workbook.write(bytes);
+            return bytes.toByteArray();
+        }
+    }
+
+    private static File writeWorkbook(List<SheetEntry> sheets) throws IOException {
+        File file = Files.createTempFile("Golden-", ".xlsx").toFile();
+        file.deleteOnExit();
+        Files.write(file.toPath(), toBytes(sheets));
+        return file;
+    }
+
+    static Stream<Arguments> rangeWorkbookOpeners() {
+        return Stream.of(
+                Arguments.of(Named.<Function<byte[], ExcelAssert>>of("workbook", ExcelAssertionBuilder::assertThatExcel)),
+                Arguments.of(Named.<Function<byte[], ExcelAssert>>of("deferred", bytes -> {
+                    try {
+                        return new ExcelAssert(StreamingWorkbookReader.open(new ByteArrayInputStream(bytes)));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }))
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "A", "B2:C"})
+    void cellsIn_ShouldRejectInvalidRange(String rangeAddress) {
+        assertThatThrownBy(() -> cellsIn(rangeAddress)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void inParallel_ShouldReportSameFailuresAsSequentialEvaluation() {
+        Function<ExcelAssert, ExcelAssert> assertions = excelAssert -> excelAssert
+                .inSheet("Formulas").have(
+                        cellAt("B1").withNumber(equalTo(5.0)),
+                        cellAt("C1").withNumber(equalTo(1.0))
+                )
+                .inSheet("Comments").has(cellAt("A2").exists().withComment("no comment"))
+                .inSheet(0).have(
+                        cellAt("A2").withText(equalTo("hello")),
+                        cellAt("A3").withBoolean(ofFalse())
+                )
+                .inSheet("Missing");
+
+        var sequential = assertions.apply(assertThatExcelDeferred(deferredFile));
+        var parallel = assertions.apply(assertThatExcelDeferred(deferredFile).inParallel());
+
+        var sequentialError = catchThrowableOfType(AssertionError.class, sequential::close);
+        assertThat(sequentialError).hasMessageContaining("Cannot find sheet with name 'Missing'");
+        assertThatThrownBy(parallel::close)
+                .isInstanceOf(AssertionError.class)
+                .hasMessage(sequentialError.getMessage());
+    }
+
+    @Test
+    void inParallel_ShouldRequireDeferredMode() {
+        assertThatThrownBy(() -> assertThatExcelFile.inParallel())
+                .isInstanceOf(IllegalStateException.class);
+    }
+
     @lombok.SneakyThrows
     @BeforeEach
     void setup() {assertThatExcelFile = assertThatExcel(exampleFile);}
@@ -357,6 +996,25 @@ class ExcelAssertionBuilderTest {
             generateTestExcelFile(out);
         }
 
+        deferredFile = Files.createTempFile("Deferred-", ".xlsx").toFile();
+        try (var workbook = new XSSFWorkbook(); var out = new FileOutputStream(deferredFile)) {
+            ExcelOperations.fillWorkbook(workbook, List.of(
+                    new SheetEntry("Formulas", List.of(
+                            FormulaCellEntry.ofNoValue("A1", "1+1"),
+                            FormulaCellEntry.ofNoValue("A2", "\"Hello \"&\"World\""),
+                            FormulaCellEntry.ofNoValue("A3", "1=1"),
+                            FormulaCellEntry.ofNoValue("A4", "1/0"),
+                            FormulaCellEntry.ofNoValue("B1", "A1*2", "0.00")
+                    )),
+                    new SheetEntry("Comments", List.of(
+                            new TextCellEntry("A1", "COMMENT1", null, "FORMAT"),
+                            new TextCellEntry("A9", "COMMENT3", null, "VALUE")
+                    ))
+            ));
+            XSSFFormulaEvaluator.evaluateAllFormulaCells(workbook); // deferred mode reads cached formula results
+            workbook.write(out);
+        }
+
         if ("true".equalsIgnoreCase(System.getenv("OPEN_EXCEL")))
             java.awt.Desktop.getDesktop().open(exampleFile);
     }
@@ -366,6 +1024,7 @@ class ExcelAssertionBuilderTest {
     static void deleteTestFile() {
         if (!"true".equalsIgnoreCase(System.getenv("OPEN_EXCEL")))
             if (exampleFile != null) Files.deleteIfExists(exampleFile.toPath());
+        if (deferredFile != null) Files.deleteIfExists(deferredFile.toPath());
     }
 
     private static void generateTestExcelFile(OutputStream output) throws IOException {
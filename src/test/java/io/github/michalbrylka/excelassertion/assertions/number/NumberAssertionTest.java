@@ -10,6 +10,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
@@ -31,6 +32,44 @@ class NumberAssertionTest {
                 .isInstanceOf(AssertionError.class);
     }
 
+    @ParameterizedTest(name = "{1} {0}")
+    @MethodSource("passingCases")
+    void test_Positive(NumberAssertion assertion, double actual) {
+        assertThat(assertion.test(actual)).isTrue();
+    }
+
+    @ParameterizedTest(name = "NOT {1} {0}")
+    @MethodSource("failingCases")
+    void test_Negative(NumberAssertion assertion, double actual) {
+        assertThat(assertion.test(actual)).isFalse();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("bulkCases")
+    void testAll_ShouldMatchTest(NumberAssertion assertion) {
+        double[] values = {-1e300, -5.0, -0.0, 0.0, 0.9, 1.0, 2.0, 3.0, 3.1, 5.0, 5.4, 5.5, 9.9, 10.0, 10.1, 104.0, 106.0,
+                1e300, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, 42.0};
+        boolean[] failed = new boolean[values.length];
+
+        int failedCount = assertion.testAll(values, values.length - 1, failed); // last value is out of tested length
+
+        for (int i = 0; i < values.length - 1; i++)
+            assertThat(failed[i]).as("value %s", values[i]).isEqualTo(!assertion.test(values[i]));
+        assertThat(failed[values.length - 1]).isFalse();
+        assertThat(failedCount).isEqualTo(IntStream.range(0, values.length - 1).filter(i -> failed[i]).count());
+    }
+
+    static Stream<Arguments> bulkCases() {
+        return Stream.concat(
+                        Stream.concat(passingCases(), failingCases()).map(arguments -> (NumberAssertion) arguments.get()[0]),
+                        Stream.of(
+                                new CloseToOffsetNumberAssertion(5.0, Offset.strictOffset(0.4)),
+                                new CloseToPercentNumberAssertion(Double.POSITIVE_INFINITY, Percentage.withPercentage(5))
+                        ))
+                .distinct()
+                .map(Arguments::arguments);
+    }
+
     static Stream<Arguments> passingCases() {
         return Stream.of(
                 arguments(new EqualToNumberAssertion(5.5), 5.5), // == 5.5
@@ -199,7 +238,15 @@ class NumberAssertionTest {
                 arguments(new OutsideRangeNumberAssertion(0.0, 100.0, true, false), """
                         {"out":"(0.0..100.0]"}"""),
                 arguments(new OutsideRangeNumberAssertion(0.0, 100.0, true, false), """
-                        {"beyond":"(0.0..100.0]"}""")
+                        {"beyond":"(0.0..100.0]"}"""),
+
+                // numbers in exponent notation, as written by Double.toString, and with spaces
+                arguments(new CloseToOffsetNumberAssertion(1.0E20, Offset.offset(1.0E-7)), """
+                        {"close":"1.0E20±1.0E-7"}"""),
+                arguments(new WithinRangeNumberAssertion(-2.5e-3, 1e3, true, false), """
+                        {"in":"( -2.5e-3 .. 1e3 ]"}"""),
+                arguments(new WithinRangeNumberAssertion(1.0, 2.0, false, false), """
+                        {"in":"[1..2]"}""")
         );
     }
 
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.assertj.core.api.AbstractStringAssert;
 import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -25,6 +26,8 @@ public class TextAssertionTest {
         else
             assertThatExceptionOfType(AssertionError.class)
                     .isThrownBy(() -> assertion.apply(stringAssert));
+
+        assertThat(assertion.test(actualValue)).isEqualTo(expectSuccess);
     }
 
     private static Stream<Arguments> equalsTextAssertionTestCases() {
@@ -46,6 +49,14 @@ public class TextAssertionTest {
                 Arguments.of("Line1\nLine2", "Line1Line2", false, true, false), // should fail if normalize removes space
                 Arguments.of("Line1\nLine2", "Line1 Line2", false, true, true), // should pass
                 Arguments.of("Line1\n Line2", "Line1 Line2", false, true, true), // should pass
+                Arguments.of("  Line1 \t\r\n\u2028 Line2\n", "Line1 Line2", false, true, true), // whitespace runs collapsed, ends trimmed
+                Arguments.of("\u0001Line1\u0085Line2 \u2029", "Line1 Line2", false, true, true), // control chars trimmed at ends
+                Arguments.of("Line1\u0001Line2", "Line1 Line2", false, true, false), // control chars kept inside
+                Arguments.of("LINE1\n\nline2", "line1 LINE2", true, true, true),
+                Arguments.of("LINE1\n\nline2", "line1 LINE2", false, true, false),
+                Arguments.of("Line1 Line2 ", "Line1 Line2 Line3", false, true, false), // prefix only
+                Arguments.of("Line1 Line2 Line3", "Line1 Line2", false, true, false),
+                Arguments.of(" \n ", "", false, true, true),
 
                 // Newline handling, ignoreNewLines = false
                 Arguments.of("Hello\nWorld", "Hello\nWorld", false, false, true),
@@ -82,6 +93,8 @@ public class TextAssertionTest {
         else
             assertThatExceptionOfType(AssertionError.class)
                     .isThrownBy(() -> assertion.apply(stringAssert));
+
+        assertThat(assertion.test(actualValue)).isEqualTo(expectSuccess);
     }
 
     private static Stream<Arguments> containsTextAssertionTestCases() {
@@ -115,6 +128,44 @@ public class TextAssertionTest {
         else
             assertThatExceptionOfType(AssertionError.class)
                     .isThrownBy(() -> assertion.apply(stringAssert));
+
+        assertThat(assertion.test(actualValue)).isEqualTo(expectSuccess);
+    }
+
+    @Test
+    void testPatternTextAssertion_ShouldRecompileWhenFlagsChange() {
+        var assertion = new PatternTextAssertion("line1.line2", false, false);
+        String actual = "Line1\nLine2";
+
+        assertThatExceptionOfType(AssertionError.class).isThrownBy(() -> assertion.apply(assertThat(actual)));
+
+        assertion.ignoreCase().dotallMode();
+        assertThatNoException().isThrownBy(() -> assertion.apply(assertThat(actual)));
+
+        assertion.noDotallMode();
+        assertThatExceptionOfType(AssertionError.class).isThrownBy(() -> assertion.apply(assertThat(actual)));
+
+        assertion.dotallMode().caseSensitive();
+        assertThatExceptionOfType(AssertionError.class).isThrownBy(() -> assertion.apply(assertThat(actual)));
+    }
+
+    @Test
+    void testPatternTextAssertion_ShouldReportInvalidPatternWhenApplied() {
+        var assertion = new PatternTextAssertion("[unclosed", false, false).ignoreCase().dotallMode();
+
+        assertThat(assertion.test("[unclosed")).isFalse();
+        assertThatExceptionOfType(java.util.regex.PatternSyntaxException.class).isThrownBy(() -> assertion.apply(assertThat("[unclosed")));
+    }
+
+    @Test
+    void testFrozenTextAssertion_ShouldRejectOptionChanges() {
+        var assertion = new PatternTextAssertion("line1.line2", true, false).freeze();
+
+        assertThat(assertion.isFrozen()).isTrue();
+        assertThatIllegalStateException().isThrownBy(assertion::caseSensitive);
+        assertThatIllegalStateException().isThrownBy(assertion::dotallMode);
+        assertThatIllegalStateException().isThrownBy(() -> new EqualsTextAssertion("a", false, false).freeze().ignoreNewLines());
+        assertThat(assertion.test("LINE1-line2")).isTrue();
     }
 
     private static Stream<Arguments> patternTextAssertionTestCases() {
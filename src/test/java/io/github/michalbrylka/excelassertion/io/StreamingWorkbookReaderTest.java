@@ -0,0 +1,274 @@
+package io.github.michalbrylka.excelassertion.io;
+
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFFormulaEvaluator;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellType;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StreamingWorkbookReaderTest {
+    private static File exampleFile;
+    private static File inlineStringsFile;
+
+    @Test
+    void read_ShouldProduceSameEntriesAsDomReader() throws IOException {
+        List<SheetEntry> expected;
+        try (var workbook = WorkbookFactory.create(exampleFile, null, true)) {
+            expected = ExcelOperations.readWorkbook(workbook);
+        }
+
+        List<SheetEntry> actual = readStreaming(exampleFile);
+
+        assertThat(actual)
+                .usingRecursiveComparison()
+                .isEqualTo(expected);
+    }
+
+    @Test
+    void read_ShouldReadInlineStrings() throws IOException {
+        List<SheetEntry> actual = readStreaming(inlineStringsFile);
+
+        assertThat(actual).singleElement()
+                .extracting(SheetEntry::cells)
+                .asInstanceOf(org.assertj.core.api.InstanceOfAssertFactories.LIST)
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(
+                        new TextCellEntry("A1", "inline", "General"),
+                        new NumberCellEntry("B1", 42.0, "General"),
+                        new TextCellEntry("A2", "second\nline", "General")
+                );
+    }
+
+    @Test
+    void read_ShouldEmitPrimitiveNumberEntries() throws IOException {
+        List<CellEntry<?>> streamed = readStreaming(inlineStringsFile).getFirst().cells();
+        List<CellEntry<?>> loaded;
+        try (var workbook = WorkbookFactory.create(inlineStringsFile, null, true)) {
+            loaded = ExcelOperations.readWorkbook(workbook).getFirst().cells();
+        }
+
+        assertThat(List.of(streamed.get(1), loaded.get(1)))
+                .allSatisfy(entry -> assertThat(entry)
+                        .isInstanceOfSatisfying(PrimitiveNumberCellEntry.class, number -> {
+                            assertThat(number.doubleValue()).isEqualTo(42.0);
+                            assertThat(number.value()).isEqualTo(42.0);
+                        }));
+        assertThat(streamed.get(1)).isEqualTo(new PrimitiveNumberCellEntry("B1", 42.0, "General", null));
+    }
+
+    @Test
+    void read_ShouldResolveSharedStringFormulaResults() throws IOException {
+        File file = Files.createTempFile("CachedStrings-", ".xlsx").toFile();
+        file.deleteOnExit();
+        try (var workbook = new XSSFWorkbook(); var out = new FileOutputStream(file)) {
+            int cachedIndex = workbook.getSharedStringSource().addSharedStringItem(new XSSFRichTextString("cached"));
+            var cell = workbook.createSheet("Cached").createRow(0).createCell(0);
+            cell.setCellFormula("\"cac\"&\"hed\"");
+            cell.getCTCell().setT(STCellType.S);
+            cell.getCTCell().setV(String.valueOf(cachedIndex));
+            workbook.write(out);
+        }
+
+        assertThat(readStreaming(file).getFirst().cells())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(FormulaCellEntry.ofValue(new TextCellEntry("A1", "cached", "General"), "\"cac\"&\"hed\""));
+    }
+
+    @Test
+    void read_ShouldReadIsoDateCells() throws IOException {
+        File file = Files.createTempFile("IsoDates-", ".xlsx").toFile();
+        file.deleteOnExit();
+        try (var workbook = new XSSFWorkbook(); var out = new FileOutputStream(file)) {
+            var row = workbook.createSheet("Dates").createRow(0);
+            for (var value : List.of("2024-01-31", "2024-01-31T13:45:10")) {
+                var cell = row.createCell(row.getPhysicalNumberOfCells()).getCTCell();
+                cell.setV(value);
+                try (var cursor = cell.newCursor()) { // "d" type is missing in schema bundled with POI
+                    cursor.setAttributeText(new javax.xml.namespace.QName("t"), "d");
+                }
+            }
+            workbook.write(out);
+        }
+
+        assertThat(readStreaming(file).getFirst().cells())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(
+                        new DateCellEntry("A1", LocalDateTime.of(2024, 1, 31, 0, 0), "General"),
+                        new DateCellEntry("B1", LocalDateTime.of(2024, 1, 31, 13, 45, 10), "General"));
+    }
+
+    @Test
+    void readSheet_ShouldSkipSheetsRejectedByHandler() throws IOException {
+        List<String> visitedSheets = new ArrayList<>();
+        List<CellEntry<?>> cells = new ArrayList<>();
+
+        try (var reader = StreamingWorkbookReader.open(exampleFile)) {
+            assertThat(reader.getSheetNames()).containsExactly("Values", "Formulas", "Comments");
+
+            reader.read(new CellEntryHandler() {
+                @Override
+                public boolean startSheet(@NotNull String sheetName, int sheetIndex) {
+                    visitedSheets.add(sheetName);
+                    return sheetIndex == 2;
+                }
+
+                @Override
+                public void cell(@NotNull CellEntry<?> cellEntry) {cells.add(cellEntry);}
+            });
+        }
+
+        assertThat(visitedSheets).containsExactly("Values", "Formulas", "Comments");
+        assertThat(cells).extracting(CellEntry::comment).containsExactly("FORMAT", null, "VALUE");
+    }
+
+    @Test
+    void readSheet_ShouldParseCommentsOnFirstLookup() throws IOException {
+        // comments part is broken, so any attempt to parse it fails
+        File file = Files.createTempFile("BrokenComments-", ".xlsx").toFile();
+        file.deleteOnExit();
+        try (var in = new ZipInputStream(new FileInputStream(exampleFile));
+             var out = new ZipOutputStream(new FileOutputStream(file))) {
+            for (var entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                out.write(entry.getName().contains("comments") ? "<broken".getBytes() : in.readAllBytes());
+                out.closeEntry();
+            }
+        }
+
+        try (var reader = StreamingWorkbookReader.open(file)) {
+            reader.readSheet(2, new CellEntryHandler() {
+                @Override
+                public boolean acceptCell(int rowIndex, int columnIndex) {return false;}
+
+                @Override
+                public void cell(@NotNull CellEntry<?> cellEntry) {}
+            });
+
+            var comments = reader.getSheetComments(2);
+            assertThatThrownBy(() -> comments.at(0, 0)).isInstanceOf(UncheckedIOException.class);
+        }
+
+        try (var reader = StreamingWorkbookReader.open(exampleFile)) {
+            var comments = reader.getSheetComments(2);
+            assertThat(comments.at(0, 0)).isEqualTo("FORMAT");
+            assertThat(comments.at(4, 0)).isNull();
+        }
+    }
+
+    @ParameterizedTest(name = "{0} shifted by ({1},{2}) -> {3}")
+    @MethodSource("shiftFormulaCases")
+    void shiftFormula_ShouldMoveRelativeReferencesOnly(String formula, int rowOffset, int columnOffset, String expected) {
+        assertThat(StreamingWorkbookReader.shiftFormula(formula, rowOffset, columnOffset)).isEqualTo(expected);
+    }
+
+    static Stream<Arguments> shiftFormulaCases() {
+        return Stream.of(
+                Arguments.of("A1+B2", 1, 0, "A2+B3"),
+                Arguments.of("$A$1+A$1+$A1", 2, 3, "$A$1+D$1+$A3"),
+                Arguments.of("SUM(A1:A10)*LOG10(B1)", 1, 1, "SUM(B2:B11)*LOG10(C2)"),
+                Arguments.of("\"A1\"&A1", 1, 0, "\"A1\"&A2"),
+                Arguments.of("'Sheet A1'!C3+Sheet2!C3", 0, 1, "'Sheet A1'!D3+Sheet2!D3"),
+                Arguments.of("1E3*A1", 0, 0, "1E3*A1"),
+                Arguments.of("SUM(A:A)+SUM($A:B)", 5, 1, "SUM(B:B)+SUM($A:C)"),
+                Arguments.of("SUM(1:1)+SUM(2:$3)+0.5", 1, 4, "SUM(2:2)+SUM(3:$3)+0.5")
+        );
+    }
+
+    private static List<SheetEntry> readStreaming(File file) throws IOException {
+        List<SheetEntry> sheetEntries = new ArrayList<>();
+        try (var reader = StreamingWorkbookReader.open(file)) {
+            reader.read(new CellEntryHandler() {
+                private List<CellEntry<?>> sheetCells;
+
+                @Override
+                public boolean startSheet(@NotNull String sheetName, int sheetIndex) {
+                    sheetCells = new ArrayList<>();
+                    return true;
+                }
+
+                @Override
+                public void cell(@NotNull CellEntry<?> cellEntry) {sheetCells.add(cellEntry);}
+
+                @Override
+                public void endSheet(@NotNull String sheetName, int sheetIndex) {sheetEntries.add(new SheetEntry(sheetName, sheetCells));}
+            });
+        }
+        return sheetEntries;
+    }
+
+    @BeforeAll
+    @lombok.SneakyThrows
+    static void globalSetup() {
+        exampleFile = Files.createTempFile("Streaming-", ".xlsx").toFile();
+        try (var workbook = new XSSFWorkbook(); var out = new FileOutputStream(exampleFile)) {
+            ExcelOperations.fillWorkbook(workbook, List.of(
+                    new SheetEntry("Values", List.of(
+                            new TextCellEntry("A1", "Quarterly Report"),
+                            new NumberCellEntry("A2", 2.5, "0.00"),
+                            new NumberCellEntry("A3", -1e-7),
+                            new DateCellEntry("A4", LocalDateTime.of(2024, 2, 29, 13, 45, 10), "yyyy-mm-dd hh:mm:ss"),
+                            new BooleanCellEntry("B1", true),
+                            new BooleanCellEntry("B2", false),
+                            new ErrorCellEntry("C1", "#N/A"),
+                            new NoValueCellEntry("D5", "0.0%")
+                    )),
+                    new SheetEntry("Formulas", List.of(
+                            FormulaCellEntry.ofNoValue("A1", "1+1", "0.00"),
+                            FormulaCellEntry.ofNoValue("A2", "\"Hello \"&\"World\""),
+                            FormulaCellEntry.ofNoValue("A3", "1=1"),
+                            FormulaCellEntry.ofNoValue("A4", "1/0"),
+                            FormulaCellEntry.ofNoValue("A5", "DATE(2023,1,1)", "yyyy-mm-dd"),
+                            FormulaCellEntry.ofNoValue("B1", "A1*2")
+                    )),
+                    new SheetEntry("Comments", List.of(
+                            new TextCellEntry("A1", "COMMENT1", null, "FORMAT"),
+                            new TextCellEntry("A5", "NO COMMENT"),
+                            new TextCellEntry("A9", "COMMENT3", null, "VALUE")
+                    ))
+            ));
+            XSSFFormulaEvaluator.evaluateAllFormulaCells(workbook);
+            // leave one formula without cached result
+            var sheet = workbook.getSheet("Formulas");
+            sheet.createRow(10).createCell(0).setCellFormula("A1+A2");
+            workbook.write(out);
+        }
+
+        inlineStringsFile = Files.createTempFile("InlineStrings-", ".xlsx").toFile();
+        try (var workbook = new SXSSFWorkbook(); var out = new FileOutputStream(inlineStringsFile)) {
+            var sheet = workbook.createSheet("Inline");
+            var row = sheet.createRow(0);
+            row.createCell(0).setCellValue("inline");
+            row.createCell(1).setCellValue(42.0);
+            sheet.createRow(1).createCell(0).setCellValue("second\nline");
+            workbook.write(out);
+            workbook.dispose();
+        }
+    }
+
+    @AfterAll
+    @lombok.SneakyThrows
+    static void globalCleanup() {
+        if (exampleFile != null) Files.deleteIfExists(exampleFile.toPath());
+        if (inlineStringsFile != null) Files.deleteIfExists(inlineStringsFile.toPath());
+    }
+}